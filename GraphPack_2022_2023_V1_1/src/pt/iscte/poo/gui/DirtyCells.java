@@ -0,0 +1,119 @@
+package pt.iscte.poo.gui;
+
+/**
+ *         DirtyCells is the set of grid cells that changed since the last
+ *         paint, kept both as a flag per cell (to test a cell) and as a list
+ *         (to go through the changed cells without scanning the grid).
+ *
+ *         When everything changed (e.g. a new level or a resized grid) the set
+ *         is marked as full and the list is not used.
+ *
+ */
+// Added 18-Oct-2026
+class DirtyCells {
+
+	private int width;
+	private int height;
+	private boolean[] marked = new boolean[0];
+	private int[] cells = new int[0]; // Changed cells, as y * width + x.
+	private int count;
+	private boolean all = true;
+
+	/**
+	 * Changes the size of the grid, which marks every cell.
+	 *
+	 * @param width  number of cells in each row
+	 * @param height number of rows
+	 */
+	void resize(int width, int height) {
+		this.width = width;
+		this.height = height;
+		marked = new boolean[width * height];
+		cells = new int[width * height];
+		count = 0;
+		all = true;
+	}
+
+	/**
+	 * Marks a cell as changed. Cells outside the grid are ignored.
+	 *
+	 * @param x column of the cell
+	 * @param y row of the cell
+	 */
+	void mark(int x, int y) {
+		if (all || x < 0 || y < 0 || x >= width || y >= height)
+			return;
+		int cell = y * width + x;
+		if (!marked[cell]) {
+			marked[cell] = true;
+			cells[count++] = cell;
+		}
+	}
+
+	/**
+	 * Marks every cell as changed.
+	 */
+	void markAll() {
+		all = true;
+	}
+
+	/**
+	 * @return true if every cell is marked.
+	 */
+	boolean isAll() {
+		return all;
+	}
+
+	/**
+	 * @return true if no cell is marked.
+	 */
+	boolean isEmpty() {
+		return !all && count == 0;
+	}
+
+	/**
+	 * @param x column of the cell
+	 * @param y row of the cell
+	 * @return true if the cell is marked (always true when every cell is).
+	 */
+	boolean isMarked(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return false;
+		return all || marked[y * width + x];
+	}
+
+	/**
+	 * @return The number of cells in the list of changed cells (0 when every
+	 *         cell is marked).
+	 */
+	int size() {
+		return all ? 0 : count;
+	}
+
+	/**
+	 * @param i index in the list of changed cells
+	 * @return The column of the cell.
+	 */
+	int getX(int i) {
+		return cells[i] % width;
+	}
+
+	/**
+	 * @param i index in the list of changed cells
+	 * @return The row of the cell.
+	 */
+	int getY(int i) {
+		return cells[i] / width;
+	}
+
+	/**
+	 * Unmarks every cell.
+	 */
+	void clear() {
+		for (int i = 0; i != count; i++)
+			marked[cells[i]] = false;
+		count = 0;
+		all = false;
+	}
+
+}
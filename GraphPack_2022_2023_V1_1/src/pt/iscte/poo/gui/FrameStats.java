@@ -0,0 +1,111 @@
+package pt.iscte.poo.gui;
+
+import java.util.Arrays;
+
+/**
+ *         FrameStats is a histogram of the time taken to draw each frame, with
+ *         the number of frames that were dropped because drawing took longer
+ *         than the time between frames.
+ *
+ *         Times are counted in buckets of {@link #BUCKET} nanoseconds, up to
+ *         {@link #BUCKETS} buckets; longer frames all go to the last one. One
+ *         thread records the frames and any thread may read the statistics.
+ *
+ */
+// Added 18-Oct-2026
+public class FrameStats {
+
+	public static final long BUCKET = 50000; // 50 microseconds.
+	public static final int BUCKETS = 2000; // Up to 100 milliseconds.
+
+	private final long[] counts = new long[BUCKETS];
+	private long frames;
+	private long dropped;
+	private long total;
+	private long max;
+
+	/**
+	 * Counts a frame.
+	 *
+	 * @param nanos time taken to draw the frame, in nanoseconds
+	 */
+	public synchronized void record(long nanos) {
+		counts[(int) Math.min(nanos / BUCKET, BUCKETS - 1)]++;
+		frames++;
+		total += nanos;
+		max = Math.max(max, nanos);
+	}
+
+	/**
+	 * Counts frames that were not drawn in time.
+	 *
+	 * @param count number of frames
+	 */
+	public synchronized void drop(long count) {
+		dropped += count;
+	}
+
+	/**
+	 * @return The number of frames drawn.
+	 */
+	public synchronized long getFrames() {
+		return frames;
+	}
+
+	/**
+	 * @return The number of frames dropped.
+	 */
+	public synchronized long getDroppedFrames() {
+		return dropped;
+	}
+
+	/**
+	 * @return The mean time taken to draw a frame, in nanoseconds.
+	 */
+	public synchronized long getMean() {
+		return frames == 0 ? 0 : total / frames;
+	}
+
+	/**
+	 * @return The longest time taken to draw a frame, in nanoseconds.
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * @param percentile from 0 to 100
+	 * @return The time within which the given percentage of the frames were
+	 *         drawn (the upper end of its bucket), in nanoseconds.
+	 */
+	public synchronized long getPercentile(double percentile) {
+		if (frames == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * frames));
+		long seen = 0;
+		for (int i = 0; i != BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min((i + 1) * BUCKET, max);
+		}
+		return max;
+	}
+
+	/**
+	 * Forgets every frame counted so far.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(counts, 0);
+		frames = 0;
+		dropped = 0;
+		total = 0;
+		max = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("%d frames, %d dropped, paint time (ms): mean %.2f, p50 %.2f, p99 %.2f, max %.2f",
+				frames, dropped, getMean() / 1e6, getPercentile(50) / 1e6, getPercentile(99) / 1e6, max / 1e6);
+	}
+
+}
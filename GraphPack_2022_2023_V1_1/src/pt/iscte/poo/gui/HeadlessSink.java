@@ -0,0 +1,146 @@
+package pt.iscte.poo.gui;
+
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *         HeadlessSink is a RenderSink with no window: it keeps the images and
+ *         the status message in memory and answers no questions, so it works
+ *         without a display and costs almost nothing per call.
+ *
+ */
+// Added 18-Oct-2026
+public class HeadlessSink implements RenderSink {
+
+	private final Set<ImageTile> images = Collections.newSetFromMap(new IdentityHashMap<>());
+	private TileGrid background;
+	private int width = 10;
+	private int height = 10;
+	private String statusMessage = "";
+	private String lastMessage;
+	private long updates;
+
+	@Override
+	public void addImage(ImageTile image) {
+		if (image == null)
+			throw new IllegalArgumentException("Null image");
+		images.add(image);
+	}
+
+	@Override
+	public void addImages(List<ImageTile> newImages) {
+		if (newImages == null)
+			throw new IllegalArgumentException("Null list");
+		for (ImageTile i : newImages)
+			addImage(i);
+	}
+
+	@Override
+	public void removeImage(ImageTile image) {
+		if (image == null)
+			throw new IllegalArgumentException("Null image");
+		images.remove(image);
+	}
+
+	@Override
+	public void removeImages(List<ImageTile> oldImages) {
+		if (oldImages == null)
+			throw new IllegalArgumentException("Null list");
+		for (ImageTile i : oldImages)
+			images.remove(i);
+	}
+
+	@Override
+	public void imageChanged(ImageTile image) {
+		if (image == null)
+			throw new IllegalArgumentException("Null image");
+	}
+
+	@Override
+	public void setBackground(TileGrid grid) {
+		background = grid;
+	}
+
+	@Override
+	public void clearImages() {
+		images.clear();
+		background = null;
+	}
+
+	@Override
+	public Dimension getGridDimension() {
+		return new Dimension(width, height);
+	}
+
+	@Override
+	public void setSize(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public void setStatusMessage(String message) {
+		statusMessage = message;
+	}
+
+	@Override
+	public void setMessage(String message) {
+		lastMessage = message;
+	}
+
+	@Override
+	public String askUser(String question) {
+		return null;
+	}
+
+	@Override
+	public void update() {
+		updates++;
+	}
+
+	@Override
+	public void dispose() {
+		images.clear();
+		background = null;
+	}
+
+	/**
+	 * @return The number of images currently on the grid (without the
+	 *         background).
+	 */
+	public int getImageCount() {
+		return images.size();
+	}
+
+	/**
+	 * @return The background grid, or null if there is none.
+	 */
+	public TileGrid getBackground() {
+		return background;
+	}
+
+	/**
+	 * @return The last text shown in the status bar.
+	 */
+	public String getStatusMessage() {
+		return statusMessage;
+	}
+
+	/**
+	 * @return The last message shown to the player, or null if there was none.
+	 */
+	public String getLastMessage() {
+		return lastMessage;
+	}
+
+	/**
+	 * @return The number of updates requested so far.
+	 */
+	public long getUpdates() {
+		return updates;
+	}
+
+}
@@ -1,20 +1,34 @@
 package pt.iscte.poo.gui;
 
 import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.Transparency;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
 // import java.awt.event.MouseEvent;
 // import java.awt.event.MouseListener;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
@@ -22,6 +36,7 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
+import javax.swing.Timer;
 
 import pt.iscte.poo.observer.Observed;
 import pt.iscte.poo.utils.Point2D;
@@ -57,7 +72,8 @@ import pt.iscte.poo.utils.Point2D;
  */
 
 //Changed to local Observer-Observed pattern 27-Set-2018
-public class ImageMatrixGUI extends Observed {
+//Implements RenderSink 18-Oct-2026
+public class ImageMatrixGUI extends Observed implements RenderSink {
 
     private static ImageMatrixGUI INSTANCE;
 
@@ -72,18 +88,74 @@ public class ImageMatrixGUI extends Observed {
     private JPanel panel;
     private JLabel info;
 
-    private Map<String, ImageIcon> imageDB = new HashMap<String, ImageIcon>();
+    // Optional active rendering: a thread draws the window at a fixed frame rate (added 18-Oct-2026)
+    private Canvas canvas;
+    private Thread renderLoop;
+    private final FrameStats frameStats = new FrameStats();
 
-    private List<ImageTile> images = new ArrayList<ImageTile>();
+    // Every image, scaled to SQUARE_SIZE and addressed by ID (replaces imageDB 18-Oct-2026)
+    private SpriteAtlas atlas;
+
+    // Cells of animated sprites are drawn again when their frame changes (added 18-Oct-2026)
+    private static final int ANIMATION_TICK = 50;
+    private Timer animation;
+
+    // Images by layer, and the sprite of each image, so an image is found and removed without a search (changed 18-Oct-2026)
+    private List<List<Sprite>> layers = new ArrayList<List<Sprite>>();
+    private Map<ImageTile, Sprite> sprites = new IdentityHashMap<ImageTile, Sprite>();
+
+    // The images are changed under sceneLock, and update() publishes what the window shows as an immutable Scene;
+    // paint only reads the published scene and takes no lock (added 18-Oct-2026)
+    private final ReentrantLock sceneLock = new ReentrantLock();
+    private volatile Scene scene;
+    private Scene lastPublished; // Scene whose cells were last asked to be repainted.
+    private int[] sceneStarts = new int[0]; // Reused while building a scene.
+    private int[] sceneIds = new int[0];
+    private volatile long sceneLockWaits; // Times a thread found the lock taken.
+    private volatile long sceneLockWaitTime; // Time spent waiting for it, in nanoseconds.
+
+    // Sprites by cell, so paint finds the ones in a cell without going through all of them (added 18-Oct-2026)
+    private final SpriteGrid spriteGrid = new SpriteGrid();
+    private long nextOrder; // Order of addition of the next sprite.
+    private final List<Sprite> changedSprites = new ArrayList<Sprite>(); // Sprites whose image moved or was renamed.
+
+    // The window may show only part of the grid, following an image (added 18-Oct-2026)
+    private int view_width; // Number of cells of the window, 0 to show the whole grid.
+    private int view_height;
+    private int fixedRows; // Rows at the bottom of the grid that are always shown at the bottom of the window.
+    private ImageTile followed;
+    private int viewX; // Top left cell of the grid shown in the window.
+    private int viewY;
+
+    private TileGrid background; // Added 18-Oct-2026
+
+    // Each background is drawn once into an image that is kept while the grid is in use (added 18-Oct-2026)
+    private static final int MAX_TERRAIN_PIXELS = 2048 * 2048;
+    private Map<TileGrid, BufferedImage> terrainCache = new WeakHashMap<TileGrid, BufferedImage>();
+    private BufferedImage terrain; // Image of the current background, null if it is too large to keep.
+
+    // Only the cells that changed since the last paint are drawn again, into a frame kept between paints (added 18-Oct-2026)
+    // These are only used by the thread that paints.
+    private final DirtyCells dirty = new DirtyCells();
+    private BufferedImage frameBuffer;
+    private Scene drawnScene; // Scene in the frame buffer.
+    private long[] drawnTimes; // Time of the animation frames in the frame buffer, per cell of the window.
+    private volatile boolean redrawAll;
 
     // private Point2D lastMouseCoordinate;
     private boolean mouseClicked;
 
-    private int lastKeyPressed;
-    private boolean keyPressed;
+    private volatile int lastKeyPressed;
     private boolean windowClosed = false; // Added 25-oct-2022
 
-    private int maxLevel;
+    // Key presses wait in a lock-free queue and are handled in order by the game loop thread (added 18-Oct-2026)
+    private static final int INPUT_CAPACITY = 256;
+    private final InputQueue input = new InputQueue(INPUT_CAPACITY);
+    private ExecutorService gameLoop;
+    private volatile Thread gameLoopThread;
+    private volatile long processedInputs;
+    private volatile long totalInputLatency;
+    private volatile long maxInputLatency;
 
     private ImageMatrixGUI() {
         SQUARE_SIZE = 50;
@@ -114,9 +186,10 @@ public class ImageMatrixGUI extends Observed {
         frame = new JFrame();
         panel = new DisplayWindow();
         info = new JLabel();
+        spriteGrid.resize(n_squares_width, n_squares_height);
 
-        panel.setPreferredSize(new Dimension(n_squares_width * SQUARE_SIZE, n_squares_height * SQUARE_SIZE));
-        info.setPreferredSize(new Dimension(n_squares_width * SQUARE_SIZE, LABEL_HEIGHT));
+        panel.setPreferredSize(new Dimension(viewWidth() * SQUARE_SIZE, viewHeight() * SQUARE_SIZE));
+        info.setPreferredSize(new Dimension(viewWidth() * SQUARE_SIZE, LABEL_HEIGHT));
 //		panel.setPreferredSize(new Dimension(N_SQUARES_WIDTH * SQUARE_SIZE, N_SQUARES_HEIGHT * SQUARE_SIZE));
 //		info.setPreferredSize(new Dimension(N_SQUARES_WIDTH * SQUARE_SIZE, LABEL_HEIGHT));
         info.setBackground(Color.BLACK);
@@ -139,7 +212,7 @@ public class ImageMatrixGUI extends Observed {
 
         initImages();
 
-        new KeyWatcher().start();
+        startGameLoop();
 
 //		new MouseWatcher().start();
 
@@ -159,9 +232,7 @@ public class ImageMatrixGUI extends Observed {
 
             @Override
             public void keyPressed(KeyEvent e) {
-                lastKeyPressed = e.getKeyCode();
-                keyPressed = true;
-                releaseObserver();
+                enqueueKey(e.getKeyCode());
             }
         });
 
@@ -197,12 +268,28 @@ public class ImageMatrixGUI extends Observed {
         notifyAll();
     }
 
-    synchronized void waitForKey() throws InterruptedException {
-        while (!keyPressed) {
-            wait();
-        }
-        notifyObservers();
-        keyPressed = false;
+    // Added 18-Oct-2026
+    private void startGameLoop() {
+        gameLoop = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Game loop");
+            thread.setDaemon(true);
+            gameLoopThread = thread;
+            return thread;
+        });
+        gameLoop.execute(new GameLoop());
+    }
+
+    /**
+     * Queues a key press for the game loop, as if the key had been pressed in
+     * the window. Presses are never dropped and this never waits: presses that
+     * do not fit in the queue's ring wait in its overflow list.
+     *
+     * @param keyCode the code of the key (see KeyEvent)
+     */
+    public void enqueueKey(int keyCode) {
+        long time = System.nanoTime();
+        input.add(keyCode, time);
+        LockSupport.unpark(gameLoopThread);
     }
 
     synchronized void waitForClick() throws InterruptedException {
@@ -217,13 +304,30 @@ public class ImageMatrixGUI extends Observed {
         notifyObservers();
     }
 
+    // Changed 18-Oct-2026: the images are read into a sprite atlas
     private void initImages() {
-        File dir = new File(IMAGE_DIR);
-        for (File f : dir.listFiles()) {
-            assert (f.getName().lastIndexOf('.') != -1);
-            imageDB.put(f.getName().substring(0, f.getName().lastIndexOf('.')),
-                    new ImageIcon(IMAGE_DIR + "/" + f.getName()));
-        }
+        atlas = SpriteAtlas.load(new File(IMAGE_DIR), SQUARE_SIZE, frame.getGraphicsConfiguration());
+        animation = new Timer(ANIMATION_TICK, e -> animate());
+        animation.start();
+    }
+
+    // Added 18-Oct-2026
+    // Asks Swing to repaint the cells of the frame buffer whose animations show a new frame.
+    private void animate() {
+        Scene drawn = drawnScene;
+        if (drawn == null)
+            return;
+        long[] times = drawnTimes;
+        long time = animationTime();
+        for (int cell = 0; cell != drawn.width * drawn.height; cell++)
+            if (drawn.animates(cell, atlas, times[cell], time))
+                panel.repaint(cell % drawn.width * SQUARE_SIZE, cell / drawn.width * SQUARE_SIZE, SQUARE_SIZE,
+                        SQUARE_SIZE);
+    }
+
+    // Added 18-Oct-2026
+    private static long animationTime() {
+        return System.nanoTime() / 1000000;
     }
 
     /**
@@ -242,7 +346,8 @@ public class ImageMatrixGUI extends Observed {
      */
 
     public void addImages(final List<ImageTile> newImages) {
-        synchronized (images) { // Added 16-Mar-2016
+        lockScene(); // Added 16-Mar-2016
+        try {
             if (newImages == null)
                 throw new IllegalArgumentException("Null list");
             if (newImages.size() == 0)
@@ -250,11 +355,13 @@ public class ImageMatrixGUI extends Observed {
             for (ImageTile i : newImages) {
                 if (i == null)
                     throw new IllegalArgumentException("Null image");
-                if (!imageDB.containsKey(i.getName())) {
+                if (atlas.getID(i.getName()) < 0) {
                     throw new IllegalArgumentException("No such image in DB " + i.getName());
                 }
                 addImage(i);
             }
+        } finally {
+            sceneLock.unlock();
         }
     }
 
@@ -263,7 +370,8 @@ public class ImageMatrixGUI extends Observed {
     /**
      * Removes the image given as a parameter.
      * <p>
-     * Does nothing if there is no match.
+     * Does nothing if there is no match. Takes the same time however many
+     * images there are (changed 18-Oct-2026).
      *
      * @param image to be removed (must be the exact same Object and not a copy)
      */
@@ -271,8 +379,11 @@ public class ImageMatrixGUI extends Observed {
     public void removeImage(final ImageTile image) {
         if (image == null)
             throw new IllegalArgumentException("Null list");
-        synchronized (images) { // Added 16-Mar-2016
-            images.remove(image);
+        lockScene(); // Added 16-Mar-2016
+        try {
+            remove(image);
+        } finally {
+            sceneLock.unlock();
         }
     }
 
@@ -281,7 +392,9 @@ public class ImageMatrixGUI extends Observed {
     /**
      * Removes the image given as a parameter.
      * <p>
-     * Does nothing if there is no match.
+     * Does nothing if there is no match. Takes a time proportional to the
+     * number of images removed, not to the number on the grid (changed
+     * 18-Oct-2026).
      *
      * @param image to be removed (must be the exact same Object and not a copy)
      */
@@ -289,8 +402,12 @@ public class ImageMatrixGUI extends Observed {
     public void removeImages(final List<ImageTile> newImages) {
         if (newImages == null)
             throw new IllegalArgumentException("Null list");
-        synchronized (images) {
-            images.removeAll(newImages);
+        lockScene();
+        try {
+            for (ImageTile i : newImages)
+                remove(i);
+        } finally {
+            sceneLock.unlock();
         }
     }
 
@@ -302,31 +419,146 @@ public class ImageMatrixGUI extends Observed {
      * @param image to be added
      */
     public void addImage(final ImageTile image) {
-        synchronized (images) { // Added 16-Mar-2016
+        lockScene(); // Added 16-Mar-2016
+        try {
             if (image == null)
                 throw new IllegalArgumentException("Null image");
             if (image.getName() == null)
                 throw new IllegalArgumentException("Null image name");
             if (image.getPosition() == null)
                 throw new IllegalArgumentException("Null image position");
-            if (image.getLayer() >= maxLevel)
-                maxLevel = image.getLayer() + 1;
-            if (!imageDB.containsKey(image.getName())) {
+            if (image.getLayer() < 0)
+                throw new IllegalArgumentException("Negative image layer");
+            if (atlas.getID(image.getName()) < 0) {
                 throw new IllegalArgumentException("No such image in DB " + image.getName());
             }
-            images.add(image);
+            int layer = image.getLayer();
+            while (layers.size() <= layer)
+                layers.add(new ArrayList<Sprite>());
+            Sprite sprite = new Sprite(image, layer, ((long) layer << 40) + nextOrder++, atlas);
+            List<Sprite> bucket = layers.get(layer);
+            sprite.index = bucket.size();
+            bucket.add(sprite);
+            Sprite first = sprites.putIfAbsent(image, sprite);
+            if (first != null) {
+                while (first.duplicate != null)
+                    first = first.duplicate;
+                first.duplicate = sprite;
+            }
+            spriteGrid.add(sprite, image.getPosition());
+        } finally {
+            sceneLock.unlock();
+        }
+    }
+
+    // Added 18-Oct-2026
+    // Removes the first sprite of the given image, moving the last sprite of its layer into its place.
+    private void remove(ImageTile image) {
+        Sprite sprite = sprites.remove(image);
+        if (sprite == null)
+            return;
+        if (sprite.duplicate != null)
+            sprites.put(image, sprite.duplicate);
+        sprite.changed = false; // Left in changedSprites, where it is skipped.
+        List<Sprite> bucket = layers.get(sprite.layer);
+        Sprite last = bucket.remove(bucket.size() - 1);
+        if (last != sprite) {
+            bucket.set(sprite.index, last);
+            last.index = sprite.index;
+        }
+        spriteGrid.remove(sprite);
+    }
+
+    // Added 18-Oct-2026
+
+    /**
+     * Tells the window that an image moved or changed its name. Only the
+     * images given here are moved to their new cells on the next update,
+     * however many images there are.
+     *
+     * @param image the image that changed (must be the exact same Object and
+     *              not a copy)
+     */
+    public void imageChanged(final ImageTile image) {
+        if (image == null)
+            throw new IllegalArgumentException("Null image");
+        lockScene();
+        try {
+            for (Sprite s = sprites.get(image); s != null; s = s.duplicate)
+                if (!s.changed) {
+                    s.changed = true;
+                    changedSprites.add(s);
+                }
+        } finally {
+            sceneLock.unlock();
         }
     }
 
+    // Added 18-Oct-2026
+
     /**
-     * Clear all images displayed in main window.
+     * Sets the grid of images drawn below every other image (e.g. floor and
+     * walls), replacing the previous one.
+     * <p>
+     * The grid is drawn into an image the first time it is set, and that image
+     * is used again whenever the same grid is set (e.g. when going back to a
+     * level), so the cells of a grid must not change after it is set.
+     *
+     * @param grid the background, or null to remove it
+     */
+    public void setBackground(final TileGrid grid) {
+        lockScene();
+        try {
+            background = grid;
+            terrain = grid == null ? null : terrainOf(grid);
+        } finally {
+            sceneLock.unlock();
+        }
+    }
+
+    /**
+     * Clear all images displayed in main window, including the background.
      */
     public void clearImages() {
-        synchronized (images) { // Added 16-Mar-2016
-            images.clear();
+        lockScene(); // Added 16-Mar-2016
+        try {
+            for (List<Sprite> bucket : layers)
+                bucket.clear();
+            sprites.clear();
+            changedSprites.clear();
+            spriteGrid.clear();
+            background = null;
+            terrain = null;
+        } finally {
+            sceneLock.unlock();
         }
     }
 
+    // Added 18-Oct-2026
+    // Returns the image of the given background, drawing it if it is not cached yet.
+    private BufferedImage terrainOf(TileGrid grid) {
+        BufferedImage image = terrainCache.get(grid);
+        if (image != null)
+            return image;
+        int width = grid.getWidth() * SQUARE_SIZE;
+        int height = grid.getHeight() * SQUARE_SIZE;
+        if (width == 0 || height == 0 || (long) width * height > MAX_TERRAIN_PIXELS)
+            return null; // Drawn cell by cell instead.
+        GraphicsConfiguration configuration = panel.getGraphicsConfiguration();
+        image = configuration != null ? configuration.createCompatibleImage(width, height, Transparency.BITMASK)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        for (int y = 0; y != grid.getHeight(); y++)
+            for (int x = 0; x != grid.getWidth(); x++) {
+                String name = grid.getName(x, y);
+                if (name != null)
+                    atlas.draw(g, atlas.getID(name), 0, x * SQUARE_SIZE, y * SQUARE_SIZE);
+            }
+        g.dispose();
+        terrainCache.put(grid, image);
+        return image;
+    }
+
     /**
      * Add a new set of images to the status window.
      *
@@ -347,28 +579,289 @@ public class ImageMatrixGUI extends Observed {
 
     @SuppressWarnings("serial") // Added 2-Mar-2016
     private class DisplayWindow extends JPanel {
+        // Changed 18-Oct-2026: the cells that changed in the published scene are drawn into the frame buffer,
+        // which is then copied to the screen, without any lock
         @Override
         public void paintComponent(Graphics g) {
             // System.out.println("Thread " + Thread.currentThread() + "
             // repainting");
-            synchronized (images) { // Added 16-Mar-2016
-                for (int j = 0; j != maxLevel; j++)
-                    for (ImageTile i : images) {
-                        if (i.getLayer() == j) {
-                            g.drawImage(imageDB.get(i.getName()).getImage(), i.getPosition().getX() * SQUARE_SIZE,
-                                    i.getPosition().getY() * SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE, frame);
-                        }
-                    }
+            long start = System.nanoTime();
+            drawFrame(getGraphicsConfiguration(), g.getClipBounds());
+            if (frameBuffer != null)
+                g.drawImage(frameBuffer, 0, 0, this);
+            frameStats.record(System.nanoTime() - start);
+        }
+    }
+
+    // Added 18-Oct-2026
+    // Brings the frame buffer up to the published scene by drawing the cells that changed since the scene it shows.
+    // Cells whose animations show a new frame are only drawn inside the clip (null for the whole window), since
+    // only that part of the buffer is copied to the screen: the others keep their frame and their time, so that
+    // animate() still asks for them. Only called by the thread that paints. Returns false if no cell changed.
+    private boolean drawFrame(GraphicsConfiguration configuration, Rectangle clip) {
+        Scene current = scene;
+        if (current == null)
+            return false;
+        int width = current.width * SQUARE_SIZE;
+        int height = current.height * SQUARE_SIZE;
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            frameBuffer = configuration != null ? configuration.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            drawnTimes = new long[current.width * current.height];
+            dirty.resize(current.width, current.height);
+        } else if (redrawAll || !current.sameLayout(drawnScene))
+            dirty.markAll();
+        redrawAll = false;
+        long time = animationTime();
+        if (dirty.isAll())
+            Arrays.fill(drawnTimes, time);
+        else {
+            int left = 0, top = 0, right = current.width, bottom = current.height; // Cells inside the clip.
+            if (clip != null) {
+                left = Math.max(0, clip.x / SQUARE_SIZE);
+                top = Math.max(0, clip.y / SQUARE_SIZE);
+                right = Math.min(current.width, (clip.x + clip.width + SQUARE_SIZE - 1) / SQUARE_SIZE);
+                bottom = Math.min(current.height, (clip.y + clip.height + SQUARE_SIZE - 1) / SQUARE_SIZE);
+            }
+            for (int cell = 0; cell != current.width * current.height; cell++) {
+                int x = cell % current.width;
+                int y = cell / current.width;
+                boolean inClip = x >= left && x < right && y >= top && y < bottom;
+                if (!current.sameCell(drawnScene, cell)
+                        || inClip && current.animates(cell, atlas, drawnTimes[cell], time)) {
+                    dirty.mark(x, y);
+                    drawnTimes[cell] = time;
+                }
+            }
+        }
+        if (dirty.isEmpty())
+            return false;
+        Graphics2D buffer = frameBuffer.createGraphics();
+        drawDirtyCells(buffer, current, time);
+        buffer.dispose();
+        dirty.clear();
+        drawnScene = current;
+        return true;
+    }
+
+    // Added 18-Oct-2026
+    // Draws the background and then the sprites of every changed cell of the window.
+    // Only the cells of the window are visited, however large the grid is.
+    private void drawDirtyCells(Graphics2D g, Scene scene, long time) {
+        g.setColor(panel.getBackground());
+        if (dirty.isAll()) {
+            g.fillRect(0, 0, frameBuffer.getWidth(), frameBuffer.getHeight());
+            int rows = scene.height - scene.fixedRows;
+            BufferedImage terrain = scene.terrain;
+            if (terrain != null) {
+                int left = scene.viewX * SQUARE_SIZE;
+                int top = scene.viewY * SQUARE_SIZE;
+                int width = Math.min(scene.width * SQUARE_SIZE, terrain.getWidth() - left);
+                int height = Math.min(rows * SQUARE_SIZE, terrain.getHeight() - top);
+                if (width > 0 && height > 0)
+                    g.drawImage(terrain, 0, 0, width, height, left, top, left + width, top + height, null);
+            }
+            for (int y = 0; y != scene.height; y++)
+                for (int x = 0; x != scene.width; x++) {
+                    if (terrain == null || y >= rows)
+                        drawBackground(g, scene, x, y);
+                    drawSprites(g, scene, x, y, time);
+                }
+        } else {
+            for (int i = 0; i != dirty.size(); i++) {
+                int x = dirty.getX(i);
+                int y = dirty.getY(i);
+                g.fillRect(x * SQUARE_SIZE, y * SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+                drawBackground(g, scene, x, y);
+                drawSprites(g, scene, x, y, time);
+            }
+        }
+    }
+
+    // Added 18-Oct-2026
+    // Draws the background of the grid cell shown in the given cell of the window.
+    private void drawBackground(Graphics2D g, Scene scene, int x, int y) {
+        TileGrid background = scene.background;
+        int gridX = scene.gridX(x, y);
+        int gridY = scene.gridY(x, y);
+        if (background == null || gridX < 0 || gridY < 0 || gridX >= background.getWidth()
+                || gridY >= background.getHeight())
+            return;
+        int left = x * SQUARE_SIZE;
+        int top = y * SQUARE_SIZE;
+        if (scene.terrain != null) {
+            int sourceLeft = gridX * SQUARE_SIZE;
+            int sourceTop = gridY * SQUARE_SIZE;
+            g.drawImage(scene.terrain, left, top, left + SQUARE_SIZE, top + SQUARE_SIZE, sourceLeft, sourceTop,
+                    sourceLeft + SQUARE_SIZE, sourceTop + SQUARE_SIZE, null);
+            return;
+        }
+        String name = background.getName(gridX, gridY);
+        if (name != null)
+            atlas.draw(g, atlas.getID(name), 0, left, top);
+    }
+
+    // Added 18-Oct-2026
+    // Draws the sprites of the given cell of the window, layer by layer.
+    private void drawSprites(Graphics2D g, Scene scene, int x, int y, long time) {
+        int cell = y * scene.width + x;
+        for (int i = scene.first(cell); i != scene.end(cell); i++) {
+            int id = scene.id(i);
+            atlas.draw(g, id, atlas.getFrame(id, time), x * SQUARE_SIZE, y * SQUARE_SIZE);
+        }
+    }
+
+    // Added 18-Oct-2026
+    // Moves the sprites given to imageChanged() and returns what the window shows now, with the lock of the scene
+    // held. Only those sprites and the cells of the window are visited, however many images there are.
+    private Scene buildScene() {
+        for (int i = 0; i != changedSprites.size(); i++) {
+            Sprite s = changedSprites.get(i);
+            if (!s.changed)
+                continue; // Removed since it changed.
+            s.changed = false;
+            Point2D position = s.tile.getPosition();
+            if (!position.equals(s.cell))
+                spriteGrid.move(s, position);
+        }
+        changedSprites.clear();
+        moveViewport();
+        int width = viewWidth();
+        int height = viewHeight();
+        int cells = width * height;
+        if (sceneStarts.length != cells + 1)
+            sceneStarts = new int[cells + 1];
+        int count = 0;
+        for (int y = 0; y != height; y++)
+            for (int x = 0; x != width; x++) {
+                sceneStarts[y * width + x] = count;
+                for (Sprite s = spriteGrid.first(gridX(x, y), gridY(x, y)); s != null; s = s.next) {
+                    if (count == sceneIds.length)
+                        sceneIds = Arrays.copyOf(sceneIds, Math.max(64, count * 2));
+                    sceneIds[count++] = s.id(atlas);
+                }
+            }
+        sceneStarts[cells] = count;
+        return new Scene(width, height, viewX, viewY, fixedRows, n_squares_height, background, terrain,
+                Arrays.copyOf(sceneStarts, cells + 1), Arrays.copyOf(sceneIds, count));
+    }
+
+    // Added 18-Oct-2026
+    // Takes the lock of the scene, counting the time spent waiting if another thread holds it.
+    private void lockScene() {
+        if (sceneLock.tryLock())
+            return;
+        long start = System.nanoTime();
+        sceneLock.lock();
+        sceneLockWaits++;
+        sceneLockWaitTime += System.nanoTime() - start;
+    }
+
+    // Added 18-Oct-2026
+    // Column of the grid shown in the given cell of the window.
+    private int gridX(int x, int y) {
+        return y >= viewHeight() - fixedRows ? x : x + viewX;
+    }
+
+    // Added 18-Oct-2026
+    // Row of the grid shown in the given cell of the window.
+    private int gridY(int x, int y) {
+        return y >= viewHeight() - fixedRows ? n_squares_height - (viewHeight() - y) : y + viewY;
+    }
+
+    // Added 18-Oct-2026
+    private int viewWidth() {
+        return view_width > 0 ? view_width : n_squares_width;
+    }
+
+    // Added 18-Oct-2026
+    private int viewHeight() {
+        return view_height > 0 ? view_height : n_squares_height;
+    }
+
+    // Added 18-Oct-2026
+    // Centers the viewport on the followed image, as far as the grid allows.
+    private void moveViewport() {
+        if (followed == null)
+            return;
+        int rows = viewHeight() - fixedRows;
+        viewX = Math.max(0, Math.min(followed.getPosition().getX() - viewWidth() / 2, n_squares_width - viewWidth()));
+        viewY = Math.max(0, Math.min(followed.getPosition().getY() - rows / 2, n_squares_height - fixedRows - rows));
+    }
+
+    // Added 18-Oct-2026
+    // Asks Swing to repaint the cells that differ between two published scenes, or the whole window if the
+    // viewport or the background changed.
+    private void requestChangedCells(Scene previous, Scene next) {
+        if (renderLoop != null)
+            return; // The render loop draws the changes in its next frame.
+        if (!next.sameLayout(previous)) {
+            panel.repaint();
+            return;
+        }
+        for (int cell = 0; cell != next.width * next.height; cell++)
+            if (!next.sameCell(previous, cell))
+                panel.repaint(cell % next.width * SQUARE_SIZE, cell / next.width * SQUARE_SIZE, SQUARE_SIZE,
+                        SQUARE_SIZE);
+    }
+
+    // Added 18-Oct-2026
+    // Draws a frame at every period and copies it to the canvas, counting the frames it has no time to draw.
+    private class RenderLoop implements Runnable {
+        private final long period;
+
+        RenderLoop(long period) {
+            this.period = period;
+        }
+
+        public void run() {
+            long next = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = System.nanoTime();
+                drawFrame(canvas.getGraphicsConfiguration(), null);
+                if (frameBuffer != null)
+                    show();
+                long end = System.nanoTime();
+                frameStats.record(end - start);
+                next += period;
+                if (end > next) {
+                    long late = (end - next) / period + 1;
+                    frameStats.drop(late);
+                    next += late * period;
+                }
+                LockSupport.parkNanos(next - System.nanoTime());
             }
         }
+
+        // Copies the frame buffer to the canvas, again if the display lost it meanwhile.
+        private void show() {
+            BufferStrategy strategy = canvas.getBufferStrategy();
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    g.drawImage(frameBuffer, 0, 0, null);
+                    g.dispose();
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+        }
     }
 
-    private class KeyWatcher extends Thread {
+    // Replaces KeyWatcher 18-Oct-2026: observers are notified outside any lock
+    private class GameLoop implements Runnable {
         public void run() {
-            try {
-                while (true)
-                    waitForKey();
-            } catch (InterruptedException e) {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!input.poll()) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                lastKeyPressed = input.key();
+                notifyObservers();
+                long latency = System.nanoTime() - input.time();
+                totalInputLatency += latency;
+                maxInputLatency = Math.max(maxInputLatency, latency);
+                processedInputs++;
             }
         }
     }
@@ -400,18 +893,113 @@ public class ImageMatrixGUI extends Observed {
     /**
      * Force scheduling of a new window paint (this may take a while, it does
      * not necessarily happen immediately after this instruction is issued)
+     * <p>
+     * Only the cells that changed since the last paint are drawn again: cells
+     * of images that were added, removed, moved or renamed (changed
+     * 18-Oct-2026). Images that moved are only found if they were given to
+     * {@link #imageChanged(ImageTile)}.
+     * <p>
+     * The window shows the images as they are when this is called, all at
+     * once: changes made after it are only shown after the next call (changed
+     * 18-Oct-2026).
      */
     public void update() {
+        lockScene();
+        try {
+            Scene next = buildScene();
+            scene = next;
+            requestChangedCells(lastPublished, next);
+            lastPublished = next;
+        } finally {
+            sceneLock.unlock();
+        }
+        info.repaint();
+    }
+
+    // Added 18-Oct-2026
+
+    /**
+     * Schedules a new paint of the whole window, drawing every cell again
+     * even if it did not change.
+     */
+    public void updateAll() {
+        redrawAll = true;
+        update();
         frame.repaint();
     }
 
+    // Added 18-Oct-2026
+
+    /**
+     * Switches the window to active rendering: instead of painting when Swing
+     * asks, a thread draws the window on a Canvas at the given frame rate,
+     * with page flipping (BufferStrategy). Cannot be switched back.
+     *
+     * @param framesPerSecond target number of frames per second
+     */
+    public void setActiveRendering(int framesPerSecond) {
+        if (framesPerSecond <= 0)
+            throw new IllegalArgumentException("Illegal frame rate: " + framesPerSecond);
+        if (renderLoop != null)
+            throw new IllegalStateException("Active rendering is already on");
+        animation.stop(); // The render loop draws the animations.
+        canvas = new Canvas();
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false); // Key presses still go to the frame.
+        canvas.setPreferredSize(panel.getPreferredSize());
+        frame.remove(panel);
+        frame.add(canvas);
+        frame.pack();
+        canvas.createBufferStrategy(2);
+        redrawAll = true;
+        renderLoop = new Thread(new RenderLoop(1000000000L / framesPerSecond), "Render loop");
+        renderLoop.setDaemon(true);
+        renderLoop.start();
+    }
+
+    /**
+     * @return The statistics of the frames drawn so far (by paint or by the
+     *         render loop).
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * @return The number of times a thread changing the images had to wait
+     *         for another one. Paint takes no lock, so it never waits.
+     */
+    public long getSceneLockWaits() {
+        return sceneLockWaits;
+    }
+
+    /**
+     * @return The total time threads changing the images waited for each
+     *         other, in nanoseconds.
+     */
+    public long getSceneLockWaitTime() {
+        return sceneLockWaitTime;
+    }
+
     /**
      * Terminate window GUI
      */
     public void dispose() {
-        images.clear();
-        imageDB.clear();
+        lockScene();
+        try {
+            layers.clear();
+            sprites.clear();
+            changedSprites.clear();
+            spriteGrid.clear();
+            terrainCache.clear();
+        } finally {
+            sceneLock.unlock();
+        }
+        animation.stop();
+        if (renderLoop != null)
+            renderLoop.interrupt();
         frame.dispose();
+        gameLoop.shutdownNow();
     }
 
     /**
@@ -425,24 +1013,132 @@ public class ImageMatrixGUI extends Observed {
     }
 
     public void setSize(int i, int j) {
-        n_squares_width = i;
-        n_squares_height = j;
+        lockScene(); // Added 18-Oct-2026
+        try {
+            n_squares_width = i;
+            n_squares_height = j;
+            spriteGrid.resize(i, j);
+            for (List<Sprite> bucket : layers)
+                for (Sprite s : bucket)
+                    spriteGrid.add(s, s.tile.getPosition());
+        } finally {
+            sceneLock.unlock();
+        }
+        resizeWindow();
+    }
+
+    // Changed 18-Oct-2026: the window has the size of the viewport
+    private void resizeWindow() {
         if (INSTANCE != null) {
             //This is a workaround to allow dynamic resizing
-            INSTANCE.panel.setPreferredSize(new Dimension(n_squares_width * INSTANCE.SQUARE_SIZE, n_squares_height * INSTANCE.SQUARE_SIZE));
-            INSTANCE.info.setPreferredSize(new Dimension(n_squares_width * INSTANCE.SQUARE_SIZE, INSTANCE.LABEL_HEIGHT));
+            INSTANCE.panel.setPreferredSize(new Dimension(viewWidth() * INSTANCE.SQUARE_SIZE, viewHeight() * INSTANCE.SQUARE_SIZE));
+            if (INSTANCE.canvas != null)
+                INSTANCE.canvas.setPreferredSize(INSTANCE.panel.getPreferredSize());
+            INSTANCE.info.setPreferredSize(new Dimension(viewWidth() * INSTANCE.SQUARE_SIZE, INSTANCE.LABEL_HEIGHT));
             INSTANCE.frame.setSize(INSTANCE.frame.getPreferredSize());
         }
     }
 
+    // Added 18-Oct-2026
+
+    /**
+     * Makes the window show only part of the grid, the viewport, which
+     * scrolls to follow the image given to {@link #follow(ImageTile)}. Only
+     * the cells in the viewport are drawn.
+     *
+     * @param width  number of cells in each row of the window, or 0 to show
+     *               every column of the grid
+     * @param height number of rows of the window, including the fixed rows,
+     *               or 0 to show every row of the grid
+     */
+    public void setViewportSize(int width, int height) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException("Illegal viewport size: " + width + "x" + height);
+        lockScene();
+        try {
+            view_width = width;
+            view_height = height;
+        } finally {
+            sceneLock.unlock();
+        }
+        resizeWindow();
+    }
+
+    /**
+     * Keeps the given number of rows at the bottom of the grid (e.g. a status
+     * bar) always at the bottom of the window, whatever part of the rest of
+     * the grid the viewport shows.
+     *
+     * @param rows number of rows
+     */
+    public void setFixedRows(int rows) {
+        if (rows < 0)
+            throw new IllegalArgumentException("Illegal number of rows: " + rows);
+        lockScene();
+        try {
+            fixedRows = rows;
+        } finally {
+            sceneLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the viewport follow an image, keeping it in the center of the
+     * window as far as the grid allows.
+     *
+     * @param image the image to follow, or null to keep the viewport where it
+     *              is
+     */
+    public void follow(ImageTile image) {
+        lockScene();
+        try {
+            followed = image;
+        } finally {
+            sceneLock.unlock();
+        }
+    }
+
     public boolean isWithinBounds(Point2D p) {
         return p.getX() >= 0 && p.getY() >= 0 && p.getX() < n_squares_width && p.getY() < n_squares_height;
     }
 
-    public synchronized int keyPressed() {
+    public int keyPressed() {
         return lastKeyPressed;
     }
 
+    // Added 18-Oct-2026
+
+    /**
+     * @return The number of key presses handled so far.
+     */
+    public long getProcessedInputs() {
+        return processedInputs;
+    }
+
+    /**
+     * @return The mean time from a key press until its observers returned, in
+     *         nanoseconds.
+     */
+    public long getAverageInputLatency() {
+        long processed = processedInputs;
+        return processed == 0 ? 0 : totalInputLatency / processed;
+    }
+
+    /**
+     * @return The longest time from a key press until its observers returned,
+     *         in nanoseconds.
+     */
+    public long getMaxInputLatency() {
+        return maxInputLatency;
+    }
+
+    /**
+     * @return The number of key presses waiting for the game loop.
+     */
+    public int getPendingInputs() {
+        return input.size();
+    }
+
     public synchronized boolean wasWindowClosed() { // Added 25-out-2022
         return windowClosed;
     }
@@ -0,0 +1,164 @@
+package pt.iscte.poo.gui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *         InputQueue is a lock-free queue of key presses, each one
+ *         with the time (System.nanoTime) it was pressed.
+ *
+ *         Any number of threads may add presses, and one thread (e.g. the game
+ *         loop) takes them; neither side ever waits for a lock. Every slot has
+ *         a sequence number that tells whether it is free for the next press or
+ *         holds one ready to be taken (the bounded queue of D. Vyukov).
+ *
+ *         Presses given to {@link #add(int, long)} that do not fit in the ring
+ *         wait in an unbounded overflow list instead, so no press is dropped
+ *         and adding one never waits for the taker.
+ *
+ */
+// Added 18-Oct-2026
+public class InputQueue {
+
+	private final int mask;
+	private final int[] keys;
+	private final long[] times;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong(); // Next press to be taken.
+	private final AtomicLong tail = new AtomicLong(); // Next free slot.
+	private final Queue<Press> overflow = new ConcurrentLinkedQueue<>(); // Presses that did not fit in the ring.
+
+	private int key; // Last press taken by poll(), read by the thread that took it.
+	private long time;
+
+	/**
+	 * @param capacity maximum number of presses waiting, rounded up to a power
+	 *                 of two
+	 */
+	public InputQueue(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		mask = size - 1;
+		keys = new int[size];
+		times = new long[size];
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i != size; i++)
+			sequences.set(i, i);
+	}
+
+	/**
+	 * Adds a press at the end of the queue.
+	 *
+	 * @param key  the key code
+	 * @param time the time of the press (System.nanoTime)
+	 * @return false, adding nothing, if the queue is full
+	 */
+	public boolean offer(int key, long time) {
+		while (true) {
+			long position = tail.get();
+			int slot = (int) position & mask;
+			long sequence = sequences.get(slot);
+			if (sequence == position) {
+				if (tail.compareAndSet(position, position + 1)) {
+					keys[slot] = key;
+					times[slot] = time;
+					sequences.set(slot, position + 1); // Publishes the press.
+					return true;
+				}
+			} else if (sequence < position) {
+				return false; // The slot still holds a press from the previous lap.
+			}
+		}
+	}
+
+	/**
+	 * Adds a press at the end of the queue, in the overflow list if the ring is
+	 * full (or if presses are already waiting there, to keep them in order).
+	 * Never waits.
+	 *
+	 * @param key  the key code
+	 * @param time the time of the press (System.nanoTime)
+	 */
+	public void add(int key, long time) {
+		if (!overflow.isEmpty() || !offer(key, time))
+			overflow.add(new Press(key, time));
+	}
+
+	/**
+	 * Takes the first press of the queue, which can then be read with
+	 * {@link #key()} and {@link #time()} by the same thread.
+	 *
+	 * @return false if the queue is empty
+	 */
+	public boolean poll() {
+		if (pollRing())
+			return true;
+		Press press = overflow.poll(); // Only holds presses newer than the ones in the ring.
+		if (press == null)
+			return false;
+		key = press.key;
+		time = press.time;
+		return true;
+	}
+
+	private boolean pollRing() {
+		while (true) {
+			long position = head.get();
+			int slot = (int) position & mask;
+			long sequence = sequences.get(slot);
+			if (sequence == position + 1) {
+				if (head.compareAndSet(position, position + 1)) {
+					key = keys[slot];
+					time = times[slot];
+					sequences.set(slot, position + mask + 1); // Frees the slot for the next lap.
+					return true;
+				}
+			} else if (sequence < position + 1) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * @return The key code of the last press taken by {@link #poll()}.
+	 */
+	public int key() {
+		return key;
+	}
+
+	/**
+	 * @return The time of the last press taken by {@link #poll()}.
+	 */
+	public long time() {
+		return time;
+	}
+
+	/**
+	 * @return The number of presses waiting, in the ring and in the overflow
+	 *         list (approximate while other threads use the queue).
+	 */
+	public int size() {
+		return (int) Math.max(0, tail.get() - head.get()) + overflow.size();
+	}
+
+	/**
+	 * @return The maximum number of presses waiting in the ring.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	private static class Press {
+		final int key;
+		final long time;
+
+		Press(int key, long time) {
+			this.key = key;
+			this.time = time;
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package pt.iscte.poo.gui;
+
+import java.awt.Dimension;
+import java.util.List;
+
+/**
+ *         RenderSink is everything a game needs from the display: the images
+ *         on the grid, the status bar and the messages to the player.
+ *
+ *         ImageMatrixGUI draws them in a window; HeadlessSink only keeps track
+ *         of them, so a game can run where there is no display (e.g. tests and
+ *         benchmarks).
+ *
+ */
+// Added 18-Oct-2026
+public interface RenderSink {
+
+	/**
+	 * Adds an image to the grid.
+	 *
+	 * @param image to be added
+	 */
+	void addImage(ImageTile image);
+
+	/**
+	 * Adds a set of images to the grid.
+	 *
+	 * @param images to be added
+	 */
+	void addImages(List<ImageTile> images);
+
+	/**
+	 * Removes an image from the grid (the exact same Object and not a copy).
+	 * Does nothing if there is no match.
+	 *
+	 * @param image to be removed
+	 */
+	void removeImage(ImageTile image);
+
+	/**
+	 * Removes a set of images from the grid.
+	 *
+	 * @param images to be removed
+	 */
+	void removeImages(List<ImageTile> images);
+
+	/**
+	 * Tells the sink that an image on the grid moved or changed its name, so
+	 * that only its cells are drawn again on the next update. Does nothing if
+	 * the image is not on the grid.
+	 *
+	 * @param image the image that changed (the exact same Object and not a
+	 *              copy)
+	 */
+	void imageChanged(ImageTile image);
+
+	/**
+	 * Sets the grid of images drawn below every other image.
+	 *
+	 * @param grid the background, or null to remove it
+	 */
+	void setBackground(TileGrid grid);
+
+	/**
+	 * Removes every image from the grid, including the background.
+	 */
+	void clearImages();
+
+	/**
+	 * @return The width and height of the grid, in cells.
+	 */
+	Dimension getGridDimension();
+
+	/**
+	 * Changes the size of the grid.
+	 *
+	 * @param width  number of cells in each row
+	 * @param height number of rows
+	 */
+	void setSize(int width, int height);
+
+	/**
+	 * Shows a line of text in the status bar.
+	 *
+	 * @param message the text to be shown
+	 */
+	void setStatusMessage(String message);
+
+	/**
+	 * Shows a message to the player.
+	 *
+	 * @param message the text to be shown
+	 */
+	void setMessage(String message);
+
+	/**
+	 * Asks the player a question.
+	 *
+	 * @param question the text of the question
+	 * @return The answer, or null if there is none.
+	 */
+	String askUser(String question);
+
+	/**
+	 * Shows the changes made since the last update.
+	 */
+	void update();
+
+	/**
+	 * Releases the display.
+	 */
+	void dispose();
+
+}
@@ -0,0 +1,116 @@
+package pt.iscte.poo.gui;
+
+import java.awt.image.BufferedImage;
+
+/**
+ *         Scene is what the window shows at the end of a turn: for each cell
+ *         of the window, the IDs of its sprites in drawing order, and the
+ *         background under them.
+ *
+ *         The game thread builds a new Scene on every update and publishes it
+ *         at once; paint only reads published scenes, which never change, so
+ *         it needs no lock and never sees a scene that is half built.
+ *
+ */
+// Added 18-Oct-2026
+final class Scene {
+
+	final int width; // Number of cells in each row of the window.
+	final int height; // Number of rows of the window.
+	final int viewX; // Top left cell of the grid shown in the window.
+	final int viewY;
+	final int fixedRows; // Rows at the bottom of the grid always shown at the bottom of the window.
+	final int gridHeight;
+	final TileGrid background;
+	final BufferedImage terrain; // Image of the background, null if it is drawn cell by cell.
+
+	private final int[] starts; // Index in ids of the first sprite of each cell, plus the end of the last.
+	private final int[] ids;
+
+	Scene(int width, int height, int viewX, int viewY, int fixedRows, int gridHeight, TileGrid background,
+			BufferedImage terrain, int[] starts, int[] ids) {
+		this.width = width;
+		this.height = height;
+		this.viewX = viewX;
+		this.viewY = viewY;
+		this.fixedRows = fixedRows;
+		this.gridHeight = gridHeight;
+		this.background = background;
+		this.terrain = terrain;
+		this.starts = starts;
+		this.ids = ids;
+	}
+
+	/**
+	 * @return The column of the grid shown in the given cell of the window.
+	 */
+	int gridX(int x, int y) {
+		return y >= height - fixedRows ? x : x + viewX;
+	}
+
+	/**
+	 * @return The row of the grid shown in the given cell of the window.
+	 */
+	int gridY(int x, int y) {
+		return y >= height - fixedRows ? gridHeight - (height - y) : y + viewY;
+	}
+
+	/**
+	 * @return The index of the first sprite of the cell y * width + x.
+	 */
+	int first(int cell) {
+		return starts[cell];
+	}
+
+	/**
+	 * @return The index after the last sprite of the cell y * width + x.
+	 */
+	int end(int cell) {
+		return starts[cell + 1];
+	}
+
+	/**
+	 * @return The sprite ID at the given index.
+	 */
+	int id(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @return true if both scenes have the same size, viewport and
+	 *         background, so only cells whose sprites differ look different.
+	 */
+	boolean sameLayout(Scene other) {
+		return other != null && width == other.width && height == other.height && viewX == other.viewX
+				&& viewY == other.viewY && fixedRows == other.fixedRows && gridHeight == other.gridHeight
+				&& background == other.background && terrain == other.terrain;
+	}
+
+	/**
+	 * @return true if the cell has the same sprites in both scenes, which must
+	 *         have the same layout.
+	 */
+	boolean sameCell(Scene other, int cell) {
+		int first = starts[cell];
+		int end = starts[cell + 1];
+		int otherFirst = other.starts[cell];
+		if (end - first != other.starts[cell + 1] - otherFirst)
+			return false;
+		for (int i = first; i != end; i++)
+			if (ids[i] != other.ids[otherFirst + i - first])
+				return false;
+		return true;
+	}
+
+	/**
+	 * @return true if an animated sprite of the cell shows a different frame
+	 *         at each of the given times.
+	 */
+	boolean animates(int cell, SpriteAtlas atlas, long from, long to) {
+		for (int i = starts[cell]; i != starts[cell + 1]; i++)
+			if (atlas.isAnimated(ids[i]) && atlas.getFrame(ids[i], from) != atlas.getFrame(ids[i], to))
+				return true;
+		return false;
+	}
+
+}
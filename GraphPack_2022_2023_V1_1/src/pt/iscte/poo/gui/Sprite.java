@@ -0,0 +1,53 @@
+package pt.iscte.poo.gui;
+
+import pt.iscte.poo.utils.Point2D;
+
+/**
+ *         Sprite is an ImageTile on the grid of ImageMatrixGUI, with what the
+ *         GUI keeps about it: its sprite ID in the atlas (only looked up again
+ *         when the name of the image changes, e.g. a door that opens), its
+ *         place in the list of its layer and its cell in the SpriteGrid.
+ *
+ */
+// Added 18-Oct-2026
+class Sprite {
+
+	final ImageTile tile;
+	final int layer; // Layer of the image when it was added.
+	final long order; // Drawing order within a cell: layer first, then order of addition.
+
+	private String name;
+	private int id;
+
+	int index; // Index in the list of sprites of its layer.
+	Sprite duplicate; // Sprite of the same image added after this one, if the image was added more than once.
+	boolean changed; // Whether it is in the list of sprites to move on the next update.
+	Point2D cell; // Cell where it is in the SpriteGrid, null if it is outside the grid.
+	Sprite next; // Next sprite in the same cell.
+
+	Sprite(ImageTile tile, int layer, long order, SpriteAtlas atlas) {
+		this.tile = tile;
+		this.layer = layer;
+		this.order = order;
+		resolve(tile.getName(), atlas);
+	}
+
+	/**
+	 * @return The sprite ID of the current image.
+	 */
+	int id(SpriteAtlas atlas) {
+		String current = tile.getName();
+		if (current != name && !current.equals(name))
+			resolve(current, atlas);
+		return id;
+	}
+
+	private void resolve(String name, SpriteAtlas atlas) {
+		int id = atlas.getID(name);
+		if (id < 0)
+			throw new IllegalArgumentException("No such image in DB " + name);
+		this.name = name;
+		this.id = id;
+	}
+
+}
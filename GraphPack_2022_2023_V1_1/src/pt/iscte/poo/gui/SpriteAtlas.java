@@ -0,0 +1,308 @@
+package pt.iscte.poo.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ *         SpriteAtlas holds every image of the "images" folder, already scaled
+ *         to the size of a grid square, in a single image in the format of the
+ *         display. Drawing a sprite is then a plain copy of a square of the
+ *         atlas, with no scaling.
+ *
+ *         Sprites are addressed by an integer ID, given by {@link #getID}. The
+ *         frames of animated GIFs are stored one after the other, and
+ *         {@link #getFrame} tells which one to show at a given time.
+ *
+ *         The image files are decoded and scaled in parallel.
+ *
+ */
+// Added 18-Oct-2026
+public class SpriteAtlas {
+
+	private static final int DEFAULT_DELAY = 100; // Milliseconds per frame of GIFs that give no delay.
+
+	private final int size;
+	private final BufferedImage atlas;
+	private final int columns;
+	private final Map<String, Integer> ids = new HashMap<String, Integer>();
+	private final String[] names;
+	private final int[] firstFrame; // Index in the atlas of the first frame of each sprite.
+	private final int[][] frameEnds; // Time each frame ends, from the start of the animation, in ms.
+	private final long loadTime;
+
+	private SpriteAtlas(List<Frames> sprites, int size, GraphicsConfiguration configuration, long start) {
+		this.size = size;
+		int count = sprites.size();
+		names = new String[count];
+		firstFrame = new int[count];
+		frameEnds = new int[count][];
+		int total = 0;
+		for (int id = 0; id != count; id++) {
+			Frames sprite = sprites.get(id);
+			names[id] = sprite.name;
+			ids.put(sprite.name, id);
+			firstFrame[id] = total;
+			frameEnds[id] = sprite.ends;
+			total += sprite.images.size();
+		}
+
+		columns = Math.max(1, (int) Math.ceil(Math.sqrt(total)));
+		int rows = Math.max(1, (total + columns - 1) / columns);
+		atlas = configuration != null
+				? configuration.createCompatibleImage(columns * size, rows * size, Transparency.TRANSLUCENT)
+				: new BufferedImage(columns * size, rows * size, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = atlas.createGraphics();
+		int frame = 0;
+		for (Frames sprite : sprites)
+			for (BufferedImage image : sprite.images) {
+				g.drawImage(image, frame % columns * size, frame / columns * size, null);
+				frame++;
+			}
+		g.dispose();
+		loadTime = System.nanoTime() - start;
+	}
+
+	/**
+	 * Reads every image file in a folder into a new atlas. Files that cannot
+	 * be read are skipped.
+	 *
+	 * @param dir           folder with the images
+	 * @param size          width and height of each sprite, in pixels
+	 * @param configuration display the atlas is drawn on, or null for a
+	 *                      plain ARGB image
+	 * @return The atlas.
+	 */
+	public static SpriteAtlas load(File dir, int size, GraphicsConfiguration configuration) {
+		long start = System.nanoTime();
+		File[] files = dir.listFiles();
+		if (files == null)
+			throw new IllegalArgumentException("No such folder: " + dir);
+		List<Frames> sprites = Arrays.stream(files).parallel().filter(f -> f.getName().lastIndexOf('.') > 0)
+				.map(f -> read(f, size)).filter(Objects::nonNull).sorted(Comparator.comparing(s -> s.name))
+				.collect(Collectors.toList());
+		return new SpriteAtlas(sprites, size, configuration, start);
+	}
+
+	/**
+	 * @param name name of the image file (without extension)
+	 * @return The ID of the sprite, or -1 if there is no image with that name.
+	 */
+	public int getID(String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @param id ID of a sprite
+	 * @return The name of the image file of the sprite (without extension).
+	 */
+	public String getName(int id) {
+		return names[id];
+	}
+
+	/**
+	 * @return The number of sprites.
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @param id ID of a sprite
+	 * @return true if the sprite has more than one frame.
+	 */
+	public boolean isAnimated(int id) {
+		return frameEnds[id].length > 1;
+	}
+
+	/**
+	 * The frame of a sprite shown at a given time, with every animation
+	 * starting at time 0.
+	 *
+	 * @param id   ID of a sprite
+	 * @param time time in milliseconds
+	 * @return The index of the frame (0 for sprites that are not animated).
+	 */
+	public int getFrame(int id, long time) {
+		int[] ends = frameEnds[id];
+		if (ends.length == 1)
+			return 0;
+		long t = time % ends[ends.length - 1];
+		int frame = 0;
+		while (t >= ends[frame])
+			frame++;
+		return frame;
+	}
+
+	/**
+	 * Draws a frame of a sprite with its top left corner at the given point.
+	 *
+	 * @param g     where to draw
+	 * @param id    ID of a sprite
+	 * @param frame index of the frame (see {@link #getFrame})
+	 * @param x     left of the sprite, in pixels
+	 * @param y     top of the sprite, in pixels
+	 */
+	public void draw(Graphics g, int id, int frame, int x, int y) {
+		int index = firstFrame[id] + frame;
+		int sx = index % columns * size;
+		int sy = index / columns * size;
+		g.drawImage(atlas, x, y, x + size, y + size, sx, sy, sx + size, sy + size, null);
+	}
+
+	/**
+	 * @return The width and height of each sprite, in pixels.
+	 */
+	public int getSpriteSize() {
+		return size;
+	}
+
+	/**
+	 * @return The time taken to read and scale the images, in nanoseconds.
+	 */
+	public long getLoadTime() {
+		return loadTime;
+	}
+
+	// The scaled frames of an image file.
+	private static class Frames {
+		private final String name;
+		private final List<BufferedImage> images = new ArrayList<BufferedImage>();
+		private int[] ends;
+
+		Frames(String name) {
+			this.name = name;
+		}
+	}
+
+	// Reads and scales every frame of an image file, or returns null if it cannot be read.
+	private static Frames read(File file, int size) {
+		String name = file.getName().substring(0, file.getName().lastIndexOf('.'));
+		Frames sprite = new Frames(name);
+		try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+			Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+			if (readers == null || !readers.hasNext()) {
+				System.err.println("Not an image: " + file);
+				return null;
+			}
+			ImageReader reader = readers.next();
+			reader.setInput(input);
+			try {
+				if (reader.getFormatName().equalsIgnoreCase("gif"))
+					readGif(reader, sprite, size);
+				else {
+					sprite.images.add(scale(reader.read(0), size));
+					sprite.ends = new int[] { DEFAULT_DELAY };
+				}
+			} finally {
+				reader.dispose();
+			}
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Could not read " + file + ": " + e.getMessage());
+			return null;
+		}
+		return sprite;
+	}
+
+	// Composes the frames of a GIF, which may only cover part of the image and
+	// may leave the previous frame below them.
+	private static void readGif(ImageReader reader, Frames sprite, int size) throws IOException {
+		int count = reader.getNumImages(true);
+		Node screen = child(reader.getStreamMetadata().getAsTree("javax_imageio_gif_stream_1.0"),
+				"LogicalScreenDescriptor");
+		int width = screen != null ? intAttribute(screen, "logicalScreenWidth") : reader.getWidth(0);
+		int height = screen != null ? intAttribute(screen, "logicalScreenHeight") : reader.getHeight(0);
+		BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = canvas.createGraphics();
+		sprite.ends = new int[count];
+		int time = 0;
+		for (int i = 0; i != count; i++) {
+			IIOMetadata metadata = reader.getImageMetadata(i);
+			Node tree = metadata.getAsTree("javax_imageio_gif_image_1.0");
+			Node descriptor = child(tree, "ImageDescriptor");
+			Node control = child(tree, "GraphicControlExtension");
+			int left = descriptor != null ? intAttribute(descriptor, "imageLeftPosition") : 0;
+			int top = descriptor != null ? intAttribute(descriptor, "imageTopPosition") : 0;
+			int delay = control != null ? intAttribute(control, "delayTime") * 10 : 0;
+			String disposal = control != null ? attribute(control, "disposalMethod") : "none";
+
+			BufferedImage previous = disposal.equals("restoreToPrevious") ? copy(canvas) : null;
+			BufferedImage image = reader.read(i);
+			g.drawImage(image, left, top, null);
+			sprite.images.add(scale(canvas, size));
+			time += delay > 0 ? delay : DEFAULT_DELAY;
+			sprite.ends[i] = time;
+
+			if (disposal.equals("restoreToBackgroundColor")) {
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(left, top, image.getWidth(), image.getHeight());
+				g.setComposite(AlphaComposite.SrcOver);
+			} else if (previous != null) {
+				g.setComposite(AlphaComposite.Src);
+				g.drawImage(previous, 0, 0, null);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+		}
+		g.dispose();
+	}
+
+	private static BufferedImage scale(BufferedImage image, int size) {
+		BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaled.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(image, 0, 0, size, size, null);
+		g.dispose();
+		return scaled;
+	}
+
+	private static BufferedImage copy(BufferedImage image) {
+		BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = copy.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return copy;
+	}
+
+	private static Node child(Node node, String name) {
+		for (Node c = node.getFirstChild(); c != null; c = c.getNextSibling())
+			if (c.getNodeName().equals(name))
+				return c;
+		return null;
+	}
+
+	private static String attribute(Node node, String name) {
+		NamedNodeMap attributes = node.getAttributes();
+		Node attribute = attributes.getNamedItem(name);
+		return attribute == null ? "" : attribute.getNodeValue();
+	}
+
+	private static int intAttribute(Node node, String name) {
+		String value = attribute(node, name);
+		return value.isEmpty() ? 0 : Integer.parseInt(value);
+	}
+
+}
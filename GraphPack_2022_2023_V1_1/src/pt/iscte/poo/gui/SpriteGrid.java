@@ -0,0 +1,121 @@
+package pt.iscte.poo.gui;
+
+import pt.iscte.poo.utils.Point2D;
+
+/**
+ *         SpriteGrid finds the sprites in a cell of the grid without going
+ *         through every sprite. Each cell has a list of its sprites in drawing
+ *         order, linked through the sprites themselves.
+ *
+ *         Cells are grouped in square chunks that are only allocated once a
+ *         sprite is put in them, so a large grid with few sprites uses little
+ *         memory.
+ *
+ */
+// Added 18-Oct-2026
+class SpriteGrid {
+
+	private static final int CHUNK_BITS = 5; // Chunks are 32 x 32 cells.
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private int width;
+	private int height;
+	private int chunksPerRow;
+	private Sprite[][] chunks = new Sprite[0][];
+
+	/**
+	 * Changes the size of the grid, which removes every sprite.
+	 *
+	 * @param width  number of cells in each row
+	 * @param height number of rows
+	 */
+	void resize(int width, int height) {
+		this.width = width;
+		this.height = height;
+		chunksPerRow = (width + CHUNK_MASK) >> CHUNK_BITS;
+		chunks = new Sprite[chunksPerRow * ((height + CHUNK_MASK) >> CHUNK_BITS)][];
+	}
+
+	/**
+	 * Puts a sprite in the cell of the given position, after the sprites drawn
+	 * before it. Sprites outside the grid are not kept.
+	 */
+	void add(Sprite sprite, Point2D position) {
+		sprite.next = null;
+		int x = position.getX();
+		int y = position.getY();
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			sprite.cell = null;
+			return;
+		}
+		sprite.cell = position;
+		int chunk = (y >> CHUNK_BITS) * chunksPerRow + (x >> CHUNK_BITS);
+		if (chunks[chunk] == null)
+			chunks[chunk] = new Sprite[CHUNK_SIZE * CHUNK_SIZE];
+		Sprite[] cells = chunks[chunk];
+		int offset = ((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK);
+		Sprite previous = null;
+		Sprite s = cells[offset];
+		while (s != null && s.order < sprite.order) {
+			previous = s;
+			s = s.next;
+		}
+		sprite.next = s;
+		if (previous == null)
+			cells[offset] = sprite;
+		else
+			previous.next = sprite;
+	}
+
+	/**
+	 * Takes a sprite out of its cell.
+	 */
+	void remove(Sprite sprite) {
+		if (sprite.cell == null)
+			return;
+		int x = sprite.cell.getX();
+		int y = sprite.cell.getY();
+		Sprite[] cells = chunks[(y >> CHUNK_BITS) * chunksPerRow + (x >> CHUNK_BITS)];
+		int offset = ((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK);
+		Sprite previous = null;
+		for (Sprite s = cells[offset]; s != null; previous = s, s = s.next)
+			if (s == sprite) {
+				if (previous == null)
+					cells[offset] = s.next;
+				else
+					previous.next = s.next;
+				break;
+			}
+		sprite.cell = null;
+		sprite.next = null;
+	}
+
+	/**
+	 * Moves a sprite to the cell of the given position.
+	 */
+	void move(Sprite sprite, Point2D position) {
+		remove(sprite);
+		add(sprite, position);
+	}
+
+	/**
+	 * @return The first sprite to be drawn in the cell (the others follow
+	 *         through {@link Sprite#next}), or null if the cell is empty.
+	 */
+	Sprite first(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return null;
+		Sprite[] cells = chunks[(y >> CHUNK_BITS) * chunksPerRow + (x >> CHUNK_BITS)];
+		return cells == null ? null : cells[((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK)];
+	}
+
+	/**
+	 * Removes every sprite, keeping the size of the grid.
+	 */
+	void clear() {
+		for (int i = 0; i != chunks.length; i++)
+			chunks[i] = null;
+	}
+
+}
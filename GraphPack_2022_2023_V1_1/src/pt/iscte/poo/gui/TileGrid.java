@@ -0,0 +1,36 @@
+package pt.iscte.poo.gui;
+
+/**
+ *         TileGrid is a background of square images, one per grid cell (e.g.
+ *         the floor and walls of a map), that ImageMatrixGUI draws below every
+ *         ImageTile.
+ * 
+ *         Unlike ImageTile, cells are not objects: the grid only has to give the
+ *         name of the image of each cell, so a large map does not need one
+ *         object per cell.
+ *
+ */
+// Added 18-Oct-2026
+public interface TileGrid {
+
+	/**
+	 * @return The number of cells in each row of the grid.
+	 */
+	int getWidth();
+
+	/**
+	 * @return The number of rows of the grid.
+	 */
+	int getHeight();
+
+	/**
+	 * The name of the image of a cell, with the same rules as
+	 * {@link ImageTile#getName()}.
+	 * 
+	 * @param x column of the cell
+	 * @param y row of the cell
+	 * @return The name of the image, or null if the cell is empty.
+	 */
+	String getName(int x, int y);
+
+}
@@ -2,7 +2,8 @@ package pt.iscte.poo.utils;
 
 import java.awt.event.KeyEvent;
 import java.io.Serializable;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * @author POO2016
@@ -14,6 +15,9 @@ import java.util.Random;
 public enum Direction implements Serializable {
 	LEFT(new Vector2D(-1,0)), UP(new Vector2D(0,-1)), RIGHT(new Vector2D(1,0)), DOWN(new Vector2D(0,1));
 
+	// values() copies the array on every call; this copy is shared (added 18-Oct-2026)
+	static final Direction[] DIRECTIONS = values();
+
 	private Vector2D vector;
 
 	Direction(Vector2D vector) {
@@ -53,12 +57,16 @@ public enum Direction implements Serializable {
 	}
 	
 	public static Direction random() {
-		Random generator = new Random();
-		return values()[generator.nextInt(values().length)];
+		return random(ThreadLocalRandom.current());
+	}
+
+	// Picks a direction with the given generator, e.g. a seeded one (added 18-Oct-2026)
+	public static Direction random(RandomGenerator generator) {
+		return DIRECTIONS[generator.nextInt(DIRECTIONS.length)];
 	}
 	
 	public static Direction forVector(Vector2D v) {
-		for (Direction d : values())
+		for (Direction d : DIRECTIONS)
 			if (v.equals(d.asVector()))
 				return d;
 		throw new IllegalArgumentException();	
@@ -0,0 +1,125 @@
+package pt.iscte.poo.utils;
+
+import java.util.function.IntConsumer;
+
+// Added 18-Oct-2026
+
+/**
+ * Grid coordinates packed into a single int, for code that must not allocate
+ * (e.g. movement of every enemy on every turn).
+ * <p>
+ * The x coordinate is kept in the low 16 bits and the y coordinate in the high
+ * 16 bits, both signed, so points just outside the grid (e.g. -1) are still
+ * representable. Neighbours are produced in the same order as
+ * {@link Point2D#getNeighbourhoodPoints()} and
+ * {@link Point2D#getWideNeighbourhoodPoints()}.
+ */
+public final class PackedPoint {
+
+	public static final int MIN_COORDINATE = Short.MIN_VALUE;
+	public static final int MAX_COORDINATE = Short.MAX_VALUE;
+
+	private PackedPoint() {
+	}
+
+	public static int of(int x, int y) {
+		return (y << 16) | (x & 0xFFFF);
+	}
+
+	public static int of(Point2D p) {
+		return of(p.getX(), p.getY());
+	}
+
+	public static int x(int p) {
+		return (short) p;
+	}
+
+	public static int y(int p) {
+		return p >> 16;
+	}
+
+	public static Point2D toPoint(int p) {
+		return Point2D.of(x(p), y(p));
+	}
+
+	public static int plus(int p, int dx, int dy) {
+		return of(x(p) + dx, y(p) + dy);
+	}
+
+	public static int plus(int p, Vector2D v) {
+		return plus(p, v.getX(), v.getY());
+	}
+
+	public static int plus(int p, Direction d) {
+		return plus(p, d.asVector());
+	}
+
+	public static boolean isWithinBounds(int p, int width, int height) {
+		int x = x(p);
+		int y = y(p);
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	public static int distance(int from, int to) {
+		return Math.abs(x(to) - x(from)) + Math.abs(y(to) - y(from));
+	}
+
+	/**
+	 * Same rule as {@link Vector2D#movementVector(Point2D, Point2D)}: one step along
+	 * the axis with the largest difference, preferring the vertical axis on ties.
+	 *
+	 * @return the direction of the step, or null if both points are the same
+	 */
+	public static Direction directionTo(int from, int to) {
+		int dx = x(to) - x(from);
+		int dy = y(to) - y(from);
+		if (Math.abs(dx) > Math.abs(dy))
+			return dx > 0 ? Direction.RIGHT : Direction.LEFT;
+		if (dy != 0)
+			return dy > 0 ? Direction.DOWN : Direction.UP;
+		return null;
+	}
+
+	/**
+	 * Writes the 4 cardinal neighbours of p into buffer (which must have room for 4).
+	 *
+	 * @return the number of neighbours written
+	 */
+	public static int neighbours(int p, int[] buffer) {
+		Direction[] directions = Direction.DIRECTIONS;
+		for (int i = 0; i != directions.length; i++)
+			buffer[i] = plus(p, directions[i]);
+		return directions.length;
+	}
+
+	/**
+	 * Writes the 8 neighbours of p (cardinal and diagonal) into buffer (which must
+	 * have room for 8).
+	 *
+	 * @return the number of neighbours written
+	 */
+	public static int wideNeighbours(int p, int[] buffer) {
+		int n = 0;
+		for (int dx = -1; dx <= 1; dx++)
+			for (int dy = -1; dy <= 1; dy++)
+				if (dx != 0 || dy != 0)
+					buffer[n++] = plus(p, dx, dy);
+		return n;
+	}
+
+	public static void forEachNeighbour(int p, IntConsumer action) {
+		for (Direction d : Direction.DIRECTIONS)
+			action.accept(plus(p, d));
+	}
+
+	public static void forEachWideNeighbour(int p, IntConsumer action) {
+		for (int dx = -1; dx <= 1; dx++)
+			for (int dy = -1; dy <= 1; dy++)
+				if (dx != 0 || dy != 0)
+					action.accept(plus(p, dx, dy));
+	}
+
+	public static String toString(int p) {
+		return "(" + x(p) + ", " + y(p) + ")";
+	}
+}
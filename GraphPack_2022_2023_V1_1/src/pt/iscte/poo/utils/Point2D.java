@@ -9,6 +9,7 @@ import java.util.Scanner;
 
 // Updated 27-Feb-2018
 // Updated 28-Nov-2021
+// Updated 18-Oct-2026
 
 public class Point2D implements Serializable { // Added 23-Apr-2018
 
@@ -19,6 +20,13 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 	private final int x;
 	private final int y;
 
+	// Interned points for the grid, rows are created on first use (added 18-Oct-2026)
+	// Concurrent callers may race and create duplicates, which are still equal (fields are final)
+	// The cache is shared by every game in the JVM and never released, so it is capped at 256 x 256
+	// points (under 2 MB when full), well beyond the rooms of the game; farther points are created as needed
+	private static final int CACHE_SIZE = 256;
+	private static final Point2D[][] CACHE = new Point2D[CACHE_SIZE][];
+
 	public Point2D(int x, int y) {
 		this.x = x;
 		this.y = y;
@@ -34,6 +42,26 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 		y = (int)point.getY();
 	}
 
+	/**
+	 * Returns a shared instance for points with coordinates in [0, 256), and a new
+	 * one otherwise. Points are immutable, but callers must keep using equals().
+	 */
+	public static Point2D of(int x, int y) {
+		if (x < 0 || y < 0 || x >= CACHE_SIZE || y >= CACHE_SIZE)
+			return new Point2D(x, y);
+		Point2D[] row = CACHE[y];
+		if (row == null) {
+			row = new Point2D[CACHE_SIZE];
+			CACHE[y] = row;
+		}
+		Point2D p = row[x];
+		if (p == null) {
+			p = new Point2D(x, y);
+			row[x] = p;
+		}
+		return p;
+	}
+
 	public int getX() {
 		return x;
 	}
@@ -73,14 +101,18 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 	}
 
 	public Point2D plus(Vector2D v) {
-		return new Point2D(x + v.getX(), y + v.getY());
+		return of(x + v.getX(), y + v.getY());
+	}
+
+	public Point2D plus(Direction d) {
+		return plus(d.asVector());
 	}
 
 	public List<Point2D> getNeighbourhoodPoints() {
 		
-		List<Point2D> neighbours = new ArrayList<>();
+		List<Point2D> neighbours = new ArrayList<>(4);
 		
-		for (Direction d : Direction.values()) {
+		for (Direction d : Direction.DIRECTIONS) {
 			Vector2D v = d.asVector();
 			neighbours.add(this.plus(v));
 		}
@@ -93,7 +125,7 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 		int x = Integer.valueOf((s.substring(1, s.length() - 1)));
 		s = in.next();
 		int y = Integer.valueOf((s.substring(0, s.length() - 1)));
-		return new Point2D(x, y);
+		return of(x, y);
 	}
 
 	public String writeTo(PrintWriter out) {		
@@ -102,20 +134,17 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 	
 	public List<Point2D> getFrontRect(Direction d, int rect_width, int rect_height) {
 		
-		List<Vector2D> frontRectVecs = new ArrayList<>();
-		
 		int a = rect_width/2;	
 		Vector2D basis = d.asVector();
 		
+		List<Point2D> frontRectPoints = new ArrayList<>((2*a + 1) * Math.max(rect_height, 0));
+		
 		for (int dx=-a; dx<=a; dx++)
 			for (int dy=0; dy<rect_height; dy++)
 				if (basis.getX() != 0) // horizontal direction (swap)
-					frontRectVecs.add(new Vector2D(basis.getX()*dy, dx));
+					frontRectPoints.add(of(x + basis.getX()*dy, y + dx));
 				else
-					frontRectVecs.add(new Vector2D(dx, basis.getY()*dy));
-		
-		List<Point2D> frontRectPoints = new ArrayList<>();
-		frontRectVecs.forEach( v -> frontRectPoints.add((this).plus(v)));
+					frontRectPoints.add(of(x + dx, y + basis.getY()*dy));
 		
 		return frontRectPoints;
 	}
@@ -124,26 +153,18 @@ public class Point2D implements Serializable { // Added 23-Apr-2018
 	
 	public List<Point2D> getWideNeighbourhoodPoints() {
 		
-		List<Point2D> neighbours = new ArrayList<>();
+		List<Point2D> neighbours = new ArrayList<>(8);
 		
 		for (int dx=-1; dx<=1; dx++)
 			for (int dy=-1; dy<=1; dy++)
-				if (dx!=0 || dy!=0) {
-					Vector2D v = new Vector2D(dx, dy);
-					neighbours.add(this.plus(v));
-				}
+				if (dx!=0 || dy!=0)
+					neighbours.add(of(x + dx, y + dy));
 		return neighbours;
 	}
 	
 	public Vector2D vectorTo(Point2D p) {
 		
-		int dx = p.getX() - x;
-		int dy = p.getY() - y;
-				
-		if (Math.abs(dx) > Math.abs(dy))
-			return new Vector2D(Integer.signum(dx), 0);
-		
-		return new Vector2D(0, Integer.signum(dy));	
+		return Vector2D.movementVector(this, p);
 	}
 	
 	public Direction directionTo(Point2D p) {		
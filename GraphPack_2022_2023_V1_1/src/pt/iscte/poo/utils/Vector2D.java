@@ -12,6 +12,9 @@ public class Vector2D implements Serializable {
 	private int x;
 	private int y;
 
+	// Added 18-Oct-2026
+	public static final Vector2D ZERO = new Vector2D(0, 0);
+
 	public Vector2D(int x, int y) {
 		this.x = x;
 		this.y = y;
@@ -30,14 +33,10 @@ public class Vector2D implements Serializable {
 		return "(" + x + ", " + y + ")";
 	}
 
+	// Returns shared vectors, does not allocate (changed 18-Oct-2026)
 	public static Vector2D movementVector(Point2D from, Point2D to) {
-		Vector2D d = new Vector2D(to.getX() - from.getX(), to.getY() - from.getY());
-		if (Math.abs(d.getX()) > Math.abs(d.getY())) {
-			d = new Vector2D((int) Math.signum(d.getX()), 0);
-		} else if (Math.abs(d.getX()) <= Math.abs(d.getY())) {
-			d = new Vector2D(0, (int) Math.signum(d.getY()));
-		}
-		return d;
+		Direction d = PackedPoint.directionTo(PackedPoint.of(from), PackedPoint.of(to));
+		return d == null ? ZERO : d.asVector();
 	}
 
 	@Override
@@ -10,7 +10,7 @@ public class Armor extends Item {
     public Armor(String[] info) {
         // Creates an Armor object with a specified position.
         // The position is extracted from an array containing x and y coordinates.
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
     }
 
     @Override
@@ -19,7 +19,7 @@ public class Bat extends Entity implements Enemy {
 
     // Creates a Bat instance with initial position and attributes.
     public Bat(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
         super.setHitpoints(STARTING_HITPOINTS); // Sets the starting hitpoints.
         super.setAttack(ATTACK_POINTS); // Sets the attack points.
     }
@@ -41,10 +41,11 @@ public class Bat extends Entity implements Enemy {
     public void move(Direction... direction) {
         // Moves the bat in a random or default direction.
         // 50% chance to move randomly.
-        if (Math.random() < 0.5) {
+        GameRandom random = Engine.getInstance().getRandom();
+        if (random.chance(0.5)) {
             super.move();
         } else {
-            super.move(Direction.random());
+            super.move(Direction.random(random));
         }
     }
 
@@ -59,7 +60,7 @@ public class Bat extends Entity implements Enemy {
     public int getAttack() {
         // Returns the bat's attack points.
         // 50% chance to leech hitpoints when attacking.
-        if (Math.random() < 0.5) {
+        if (Engine.getInstance().getRandom().chance(0.5)) {
             healing(LEECHING_POINTS); // Leeches hitpoints.
             return super.getAttack();
         }
@@ -0,0 +1,26 @@
+package pt.iscte.poo.example;
+
+import java.awt.event.KeyEvent;
+import pt.iscte.poo.utils.Direction;
+
+// Decides the commands of a bot playing a game (see DifficultyEvaluator).
+// A policy may keep state between commands, so each game gets its own instance.
+public interface BotPolicy {
+
+    // Returns the next command for the game of the given engine, as a KeyEvent key code.
+    public int nextKey(Engine engine);
+
+    // Returns the key code of the arrow that moves the hero in the given direction.
+    public static int keyOf(Direction direction) {
+        switch (direction) {
+            case UP:
+                return KeyEvent.VK_UP;
+            case DOWN:
+                return KeyEvent.VK_DOWN;
+            case LEFT:
+                return KeyEvent.VK_LEFT;
+            default:
+                return KeyEvent.VK_RIGHT;
+        }
+    }
+}
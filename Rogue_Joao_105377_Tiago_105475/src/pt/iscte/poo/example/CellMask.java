@@ -0,0 +1,210 @@
+package pt.iscte.poo.example;
+
+// A set of grid cells stored as one bit per cell, in row-major order.
+// Each row starts on a new long, so whole rows and regions are checked 64 cells at a time.
+// Bits past the width of a row are always clear.
+public class CellMask {
+
+    private final int width; // Width of the grid, in cells.
+    private final int height; // Height of the grid, in cells.
+    private final int wordsPerRow; // Number of longs in each row.
+    private final long[] words; // Bits of the cells, row by row.
+
+    // Constructs an empty mask for a grid with the given dimensions.
+    public CellMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        wordsPerRow = (width + 63) >>> 6;
+        words = new long[wordsPerRow * height];
+    }
+
+    // Returns the width of the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Returns the height of the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Checks if the given cell is within the grid.
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    // Checks if the given cell is in the mask (cells outside the grid never are).
+    public boolean get(int x, int y) {
+        return isWithinBounds(x, y) && (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    // Adds the given cell to the mask, or removes it.
+    public void set(int x, int y, boolean value) {
+        if (!isWithinBounds(x, y)) {
+            throw new IllegalArgumentException("Cell outside the grid: (" + x + ", " + y + ")");
+        }
+        int index = y * wordsPerRow + (x >>> 6);
+        if (value) {
+            words[index] |= 1L << x;
+        } else {
+            words[index] &= ~(1L << x);
+        }
+    }
+
+    // Adds every cell of the grid to the mask.
+    public void fill() {
+        for (int y = 0; y != height; y++) {
+            for (int i = 0; i != wordsPerRow; i++) {
+                words[y * wordsPerRow + i] = rowBits(i, 0, width - 1);
+            }
+        }
+    }
+
+    // Checks if every cell from x0 to x1 (inclusive) in row y is in the mask.
+    public boolean isRowSet(int y, int x0, int x1) {
+        if (y < 0 || y >= height || x0 < 0 || x1 >= width) {
+            return false;
+        }
+        for (int i = x0 >>> 6; i <= x1 >>> 6; i++) {
+            long bits = rowBits(i, x0, x1);
+            if ((words[y * wordsPerRow + i] & bits) != bits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Checks if no cell from x0 to x1 (inclusive) in row y is in the mask.
+    public boolean isRowClear(int y, int x0, int x1) {
+        if (y < 0 || y >= height) {
+            return true;
+        }
+        x0 = Math.max(x0, 0);
+        x1 = Math.min(x1, width - 1);
+        for (int i = x0 >>> 6; i <= x1 >>> 6 && x0 <= x1; i++) {
+            if ((words[y * wordsPerRow + i] & rowBits(i, x0, x1)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Checks if every cell of the rectangle from (x0, y0) to (x1, y1) (inclusive) is in the mask.
+    public boolean isRegionSet(int x0, int y0, int x1, int y1) {
+        for (int y = y0; y <= y1; y++) {
+            if (!isRowSet(y, x0, x1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Checks if no cell of the rectangle from (x0, y0) to (x1, y1) (inclusive) is in the mask.
+    public boolean isRegionClear(int x0, int y0, int x1, int y1) {
+        for (int y = y0; y <= y1; y++) {
+            if (!isRowClear(y, x0, x1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Counts the cells of the rectangle from (x0, y0) to (x1, y1) (inclusive) that are in the mask.
+    public int count(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(x0, 0);
+        x1 = Math.min(x1, width - 1);
+        int count = 0;
+        for (int y = Math.max(y0, 0); y <= Math.min(y1, height - 1) && x0 <= x1; y++) {
+            for (int i = x0 >>> 6; i <= x1 >>> 6; i++) {
+                count += Long.bitCount(words[y * wordsPerRow + i] & rowBits(i, x0, x1));
+            }
+        }
+        return count;
+    }
+
+    // Checks if every cell strictly between (x0, y0) and (x1, y1) on a straight line is in the mask.
+    // Rows and columns are checked with whole-word tests; other lines follow Bresenham's algorithm.
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        if (y0 == y1) {
+            return Math.abs(x1 - x0) <= 1 || isRowSet(y0, Math.min(x0, x1) + 1, Math.max(x0, x1) - 1);
+        }
+
+        int dx = Math.abs(x1 - x0);
+        int dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+        int error = dx + dy;
+        int x = x0;
+        int y = y0;
+
+        while (true) {
+            int e2 = 2 * error;
+            if (e2 >= dy) {
+                error += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                error += dx;
+                y += sy;
+            }
+            if (x == x1 && y == y1) {
+                return true;
+            }
+            if (!get(x, y)) {
+                return false;
+            }
+        }
+    }
+
+    // Returns the cells of the mask connected to the given cell through up, down, left and right steps.
+    // The fill grows the whole region 64 cells at a time, one sweep over the words per step.
+    public CellMask floodFill(int x, int y) {
+        CellMask region = new CellMask(width, height);
+        if (!get(x, y)) {
+            return region;
+        }
+        region.set(x, y, true);
+
+        long[] reached = region.words;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int row = 0; row != height; row++) {
+                int base = row * wordsPerRow;
+                for (int i = 0; i != wordsPerRow; i++) {
+                    long bits = reached[base + i];
+                    long grown = bits | (bits << 1) | (bits >>> 1);
+                    if (i > 0) {
+                        grown |= reached[base + i - 1] >>> 63;
+                    }
+                    if (i < wordsPerRow - 1) {
+                        grown |= reached[base + i + 1] << 63;
+                    }
+                    if (row > 0) {
+                        grown |= reached[base - wordsPerRow + i];
+                    }
+                    if (row < height - 1) {
+                        grown |= reached[base + wordsPerRow + i];
+                    }
+                    grown &= words[base + i];
+                    if (grown != bits) {
+                        reached[base + i] = grown;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        return region;
+    }
+
+    // Returns the bits of word i (of a row) that cover the cells from x0 to x1 (inclusive).
+    private static long rowBits(int i, int x0, int x1) {
+        int first = Math.max(x0 - (i << 6), 0);
+        int last = Math.min(x1 - (i << 6), 63);
+        if (first > last) {
+            return 0;
+        }
+        return (-1L >>> (63 - last)) & (-1L << first);
+    }
+}
@@ -0,0 +1,11 @@
+package pt.iscte.poo.example;
+
+// Supplies the commands of a game that is not played from the keyboard (e.g., a headless simulation).
+public interface CommandSource {
+
+    // Checks if there are more commands.
+    public boolean hasNext();
+
+    // Returns the next command, as the KeyEvent code of the key that would play it.
+    public int next();
+}
@@ -0,0 +1,239 @@
+package pt.iscte.poo.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import pt.iscte.poo.gui.HeadlessSink;
+import pt.iscte.poo.utils.Point2D;
+
+// Estimates how hard each room is by letting a bot play thousands of games in it (a Monte Carlo evaluation).
+// Every game is an independent session with its own engine and seed, run on a pool of threads sized to the
+// cores; games share nothing, so the evaluation scales with the cores. The hero enters each room with no
+// items, where the first door leading to it puts it (or at the starting position in the first room).
+//
+// Usage: DifficultyEvaluator [--games N] [--turns T] [--policy hunter|random] [--threads K] [--seed S] [ROOM...]
+// For each room, reports the survival rate, the turns to clear it (kill every enemy) and the damage taken.
+public class DifficultyEvaluator {
+
+    // How a game ended.
+    enum Outcome {
+        CLEARED, DIED, LEFT, TIMEOUT;
+    }
+
+    private final String policy; // Name of the bot policy ("hunter" or "random").
+    private final int maxTurns; // Turns after which a game is stopped.
+
+    // Constructs an evaluator that plays games of at most maxTurns turns with the given bot policy.
+    public DifficultyEvaluator(String policy, int maxTurns) {
+        if (!policy.equals("hunter") && !policy.equals("random")) {
+            throw new IllegalArgumentException("Unknown policy: " + policy);
+        }
+        this.policy = policy;
+        this.maxTurns = maxTurns;
+    }
+
+    // Plays one game in the given room with the given seed, in the current thread.
+    public Result play(String room, long seed) {
+        Engine engine = Engine.createSession(new HeadlessSink());
+        engine.setSeed(seed);
+        engine.getPlanner().setParallel(false); // Games already run in parallel with each other.
+        GameRandom random = engine.getRandom().split();
+        BotPolicy bot = policy.equals("hunter") ? new HunterBot(random) : new RandomBot(random);
+
+        Engine.bind(engine);
+        try {
+            engine.start();
+            Point2D entry = entryOf(engine, room);
+            if (!room.equals(engine.getCurrentLevelID())) {
+                engine.enter(room, entry);
+            }
+
+            Outcome outcome = Outcome.TIMEOUT;
+            while (engine.getTurns() < maxTurns) {
+                if (engine.getDeaths() != 0) {
+                    outcome = Outcome.DIED;
+                    break;
+                }
+                if (!room.equals(engine.getCurrentLevelID()) || engine.isFinished()) {
+                    outcome = Outcome.LEFT;
+                    break;
+                }
+                if (engine.getCurrentLevel().getEnemies().isEmpty()) {
+                    outcome = Outcome.CLEARED;
+                    break;
+                }
+                engine.play(bot.nextKey(engine));
+            }
+            return new Result(outcome, engine.getTurns(), engine.getHero().getDamageTaken());
+        } finally {
+            Engine.bind(null);
+        }
+    }
+
+    // Returns where the hero enters the given room: the destination of the first door leading to it.
+    private static Point2D entryOf(Engine engine, String room) {
+        if (room.equals(engine.getCurrentLevelID())) {
+            return Hero.STARTING_POSITION;
+        }
+        if (!engine.getLevels().containsKey(room)) {
+            throw new IllegalArgumentException("No such room: " + room);
+        }
+        for (String levelID : engine.getLevels().keySet().stream().sorted().toArray(String[]::new)) {
+            for (Door door : engine.getLevels().get(levelID).getDoors()) {
+                if (door.getNextLevel().equals(room)) {
+                    return door.getNextPosition();
+                }
+            }
+        }
+        return Hero.STARTING_POSITION;
+    }
+
+    // Result of one game.
+    public static class Result {
+
+        private final Outcome outcome; // How the game ended.
+        private final int turns; // Turns played.
+        private final int damage; // Hitpoints lost by the hero.
+
+        // Constructs the result of a game.
+        Result(Outcome outcome, int turns, int damage) {
+            this.outcome = outcome;
+            this.turns = turns;
+            this.damage = damage;
+        }
+
+        // Returns how the game ended.
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        // Returns the number of turns played.
+        public int getTurns() {
+            return turns;
+        }
+
+        // Returns the hitpoints lost by the hero.
+        public int getDamage() {
+            return damage;
+        }
+    }
+
+    // Returns a line summarizing the results of the games played in a room.
+    public static String summarize(String room, List<Result> results) {
+        int games = results.size();
+        int died = 0;
+        int cleared = 0;
+        int[] clearTurns = new int[games];
+        int[] damage = new int[games];
+        for (int i = 0; i != games; i++) {
+            Result result = results.get(i);
+            if (result.getOutcome() == Outcome.DIED) {
+                died++;
+            } else if (result.getOutcome() == Outcome.CLEARED) {
+                clearTurns[cleared++] = result.getTurns();
+            }
+            damage[i] = result.getDamage();
+        }
+        clearTurns = Arrays.copyOf(clearTurns, cleared);
+        Arrays.sort(clearTurns);
+        Arrays.sort(damage);
+
+        return String.format("%-8s survival %5.1f%%  cleared %5.1f%%  turns to clear p10/p50/p90 %s/%s/%s  "
+                + "damage mean %.2f p50/p90/max %s/%s/%s",
+                room, 100.0 * (games - died) / games, 100.0 * cleared / games,
+                percentile(clearTurns, 10), percentile(clearTurns, 50), percentile(clearTurns, 90),
+                Arrays.stream(damage).average().orElse(0),
+                percentile(damage, 50), percentile(damage, 90), percentile(damage, 100));
+    }
+
+    // Returns the given percentile of sorted values, or "-" if there are none.
+    private static String percentile(int[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return Integer.toString(sorted[Math.max(0, index)]);
+    }
+
+    // Entry point for evaluating the rooms from the command line.
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int games = 1000;
+        int turns = 200;
+        String policy = "hunter";
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        List<String> rooms = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--turns":
+                    turns = Integer.parseInt(args[++i]);
+                    break;
+                case "--policy":
+                    policy = args[++i];
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    rooms.add(args[i]);
+                    break;
+            }
+        }
+
+        if (rooms.isEmpty()) {
+            Engine engine = Engine.createSession(new HeadlessSink());
+            Engine.bind(engine);
+            engine.start();
+            Engine.bind(null);
+            engine.getLevels().keySet().stream().sorted().forEach(rooms::add);
+        }
+
+        DifficultyEvaluator evaluator = new DifficultyEvaluator(policy, turns);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Bot game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+
+        List<String> lines = new ArrayList<>();
+        try {
+            List<List<Future<Result>>> futures = new ArrayList<>();
+            for (String room : rooms) {
+                List<Future<Result>> roomFutures = new ArrayList<>();
+                for (int i = 0; i != games; i++) {
+                    long gameSeed = seed + i;
+                    roomFutures.add(pool.submit(() -> evaluator.play(room, gameSeed)));
+                }
+                futures.add(roomFutures);
+            }
+
+            for (int r = 0; r != rooms.size(); r++) {
+                List<Result> results = new ArrayList<>();
+                for (Future<Result> future : futures.get(r)) {
+                    results.add(future.get());
+                }
+                lines.add(summarize(rooms.get(r), results));
+            }
+        } finally {
+            pool.shutdownNow(); // Drops the games left when one of them fails.
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d games per room, policy %s, at most %d turns, %d threads%n", games, policy, turns, threads);
+        lines.forEach(System.out::println);
+        System.out.printf("%d games in %.1f s (%.0f games/s)%n", games * rooms.size(), elapsed / 1e9,
+                games * rooms.size() * 1e9 / elapsed);
+    }
+}
@@ -0,0 +1,143 @@
+package pt.iscte.poo.example;
+
+import java.util.Arrays;
+import pt.iscte.poo.utils.Direction;
+import pt.iscte.poo.utils.Point2D;
+
+// Distances (in steps) from every cell of a level to a target cell, usually the hero.
+// The field is computed with a breadth-first search over the passable cells and shared by
+// every enemy, which then finds its next step by looking at its neighbouring cells.
+public class DistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE; // Distance of cells with no path to the target.
+    private static final Direction[] DIRECTIONS = Direction.values(); // Steps tried from each cell, in order.
+
+    private final Level level; // Level whose passable cells are searched.
+    private int[] distances; // Distance per cell, in row-major order (allocated on first use).
+    private int[] queue; // Cells waiting to be expanded by the search (allocated on first use).
+    private Point2D target; // Target of the last search.
+    private long version = -1; // Passability version of the level in the last search.
+    private int searches; // Number of searches done so far.
+    private Point2D farthest; // Reachable cell farthest from the target (found on first use after each search).
+
+    // Constructs a field for the given level (nothing is computed until it is used).
+    public DistanceField(Level level) {
+        this.level = level;
+    }
+
+    // Makes the field point at the given target, searching again only if the target moved or a
+    // cell of the level became (im)passable since the last search.
+    public void update(Point2D target) {
+        if (target.equals(this.target) && version == level.getPassabilityVersion()) {
+            return;
+        }
+        this.target = target;
+        version = level.getPassabilityVersion();
+        search();
+    }
+
+    // Returns the distance from the given position to the target.
+    public int distanceFrom(Point2D position) {
+        if (target == null || !level.isWithinBounds(position)) {
+            return UNREACHABLE;
+        }
+        return distances[indexOf(position.getX(), position.getY())];
+    }
+
+    // Returns the direction of a step from the given position that gets closer to the target,
+    // or null if the target cannot be reached from there.
+    // When several steps are equally good, the preferred direction wins, then the first in Direction order.
+    public Direction stepFrom(Point2D position, Direction preferred) {
+        int distance = distanceFrom(position);
+        if (distance == UNREACHABLE || distance == 0) {
+            return null;
+        }
+
+        Direction best = null;
+        int bestDistance = distance;
+        for (Direction direction : DIRECTIONS) {
+            int next = distanceFrom(position.plus(direction));
+            if (next < bestDistance || (next == bestDistance && best != null && direction == preferred)) {
+                best = direction;
+                bestDistance = next;
+            }
+        }
+        return best;
+    }
+
+    // Returns the reachable cell farthest from the target (the first one in row-major order on ties).
+    public Point2D getFarthestCell() {
+        if (farthest == null && target != null) {
+            int best = -1;
+            for (int i = 0; i != distances.length; i++) {
+                if (distances[i] != UNREACHABLE && (best == -1 || distances[i] > distances[best])) {
+                    best = i;
+                }
+            }
+            if (best != -1) {
+                farthest = Point2D.of(best % level.getWidth(), best / level.getWidth());
+            }
+        }
+        return farthest;
+    }
+
+    // Returns the number of searches done so far.
+    public int getSearches() {
+        return searches;
+    }
+
+    // Runs a breadth-first search from the target over the passable cells of the level.
+    private void search() {
+        CellMask passable = level.getPassability();
+        int width = passable.getWidth();
+        int height = passable.getHeight();
+        if (distances == null) {
+            distances = new int[width * height];
+            queue = new int[width * height];
+        }
+        Arrays.fill(distances, UNREACHABLE);
+        farthest = null;
+        searches++;
+
+        if (!passable.isWithinBounds(target.getX(), target.getY())) {
+            return;
+        }
+
+        // The target itself is a source even if it is not passable (e.g., the hero on a door being opened).
+        int head = 0;
+        int tail = 0;
+        int start = indexOf(target.getX(), target.getY());
+        distances[start] = 0;
+        queue[tail++] = start;
+
+        while (head != tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            int distance = distances[cell] + 1;
+
+            // Left, up, right and down neighbours.
+            if (x > 0 && passable.get(x - 1, y) && distances[cell - 1] == UNREACHABLE) {
+                distances[cell - 1] = distance;
+                queue[tail++] = cell - 1;
+            }
+            if (y > 0 && passable.get(x, y - 1) && distances[cell - width] == UNREACHABLE) {
+                distances[cell - width] = distance;
+                queue[tail++] = cell - width;
+            }
+            if (x < width - 1 && passable.get(x + 1, y) && distances[cell + 1] == UNREACHABLE) {
+                distances[cell + 1] = distance;
+                queue[tail++] = cell + 1;
+            }
+            if (y < height - 1 && passable.get(x, y + 1) && distances[cell + width] == UNREACHABLE) {
+                distances[cell + width] = distance;
+                queue[tail++] = cell + width;
+            }
+        }
+    }
+
+    // Converts a cell into its row-major index.
+    private int indexOf(int x, int y) {
+        return y * level.getWidth() + x;
+    }
+}
@@ -16,9 +16,9 @@ public class Door extends GameElement implements Interactable {
 
     // Constructs a Door object using an array of strings for initialization.
     public Door(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
         nextLevel = info[3]; // Sets the level the door leads to.
-        nextPosition = new Point2D(Integer.parseInt(info[4]), Integer.parseInt(info[5])); // Sets the position in the next level.
+        nextPosition = Point2D.of(Integer.parseInt(info[4]), Integer.parseInt(info[5])); // Sets the position in the next level.
         keyID = info.length == 6 ? null : info[6]; // Sets the key ID if provided.
         state = info.length == 6 ? State.OPEN : State.CLOSED; // Sets the initial state of the door.
     }
@@ -64,11 +64,22 @@ public class Door extends GameElement implements Interactable {
     // Opens the door by changing its state to open.
     public void open() {
         state = State.OPEN;
+        imageChanged();
+        updateLevel();
     }
 
     // Closes the door by changing its state to closed.
     public void close() {
         state = State.CLOSED;
+        imageChanged();
+        updateLevel();
+    }
+
+    // Lets the level holding the door know that the door's cell may have become (im)passable.
+    private void updateLevel() {
+        if (getLevel() != null) {
+            getLevel().refreshPassability(getPosition());
+        }
     }
 
     @Override
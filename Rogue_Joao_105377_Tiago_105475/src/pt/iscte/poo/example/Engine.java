@@ -1,30 +1,47 @@
 package pt.iscte.poo.example;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.TreeMap;
 import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.observer.Observed;
 import pt.iscte.poo.observer.Observer;
 import pt.iscte.poo.utils.Direction;
+import pt.iscte.poo.utils.Point2D;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class Engine implements Observer {
 
-    // Constants defining the grid size and initial game configuration.
+    // Constants defining the default grid size (rooms without a size header) and initial game configuration.
+    // The status bar below the grid is always GRID_WIDTH cells wide.
     public static final int GRID_HEIGHT = 10;
     public static final int GRID_WIDTH = 10;
-    private static final int HEALTHBAR_HEIGHT = 1;
+    public static final int HEALTHBAR_HEIGHT = 1;
     public static final int INVENTORY_CAPACITY = 3;
     private static final String FIRST_LEVEL = "room0";
+    private static final String ROOM_EXTENSION = ".txt";
     private static final int STARTING_SCORE = 100;
 
     // Singleton instance to ensure only one engine exists during gameplay.
     private static Engine INSTANCE = null;
 
+    // Lines of the room files by level ID, shared read-only by every engine (read on first use).
+    private static Map<String, List<String>> ROOMS;
+
+    // Engine of the game session run by the current thread, if any (see GameSession).
+    private static final ThreadLocal<Engine> SESSION = new ThreadLocal<>();
+
     // Core game objects and state management variables.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance();
+    private RenderSink gui; // Where the game is drawn: the window, or a headless sink.
     private HashMap<String, Level> levels = new HashMap<>();
     private String levelID; // Current level ID.
     private String lastLevelID; // Last level ID.
@@ -32,20 +49,110 @@ public class Engine implements Observer {
     private int turns; // Total number of turns taken.
     private int score; // Current score in the game.
     private int lastScore; // Score from the previous level.
-
-    // Ensures a single instance of the engine is used.
+    private List<Entity> opponents = new ArrayList<>(); // Enemies that act in the current turn (reused every turn).
+    private TurnPlanner planner = new TurnPlanner(); // Plans the enemies' moves of each turn.
+    private GameRandom random = new GameRandom(); // Source of every random decision in the game.
+    private List<String> savePoint; // Lines of the current level at the last save point.
+    private boolean finished; // Whether the game is over (the treasure was found).
+    private TraceRecorder recorder; // Records the commands played, or null when not recording.
+    private int deaths; // Number of times the hero died (and the game went back to the save point).
+    private EventLog events = new EventLog(EventLog.DEFAULT_CAPACITY); // Log of the game's events (off until started).
+    private Inventory inventory; // Inventory display of this game (created on first use).
+    private HealthBar healthBar; // Health bar display of this game (created on first use).
+
+    // Ensures a single instance of the engine is used (drawn in the game window).
+    // A thread running a game session gets the engine of that session instead.
     public static Engine getInstance() {
+        Engine session = SESSION.get();
+        if (session != null) {
+            return session;
+        }
         if (INSTANCE == null) {
-            INSTANCE = new Engine();
+            INSTANCE = new Engine(ImageMatrixGUI.getInstance());
+        }
+        return INSTANCE;
+    }
+
+    // Creates the single instance of the engine drawing to the given sink (e.g., a HeadlessSink).
+    // Must be called before anything else uses the engine.
+    public static Engine createInstance(RenderSink sink) {
+        if (INSTANCE != null) {
+            throw new IllegalStateException("The engine was already created.");
         }
+        INSTANCE = new Engine(sink);
         return INSTANCE;
     }
 
+    // Creates the engine of a new game session drawing to the given sink, independent of the single instance.
+    // The session's objects must be created and used while it is bound to the thread (see bind()).
+    public static Engine createSession(RenderSink sink) {
+        return new Engine(sink);
+    }
+
+    // Makes getInstance() return the given engine in the current thread, or the single instance again if null.
+    public static void bind(Engine engine) {
+        if (engine == null) {
+            SESSION.remove();
+        } else {
+            SESSION.set(engine);
+        }
+    }
+
     // Private constructor to initialize the GUI and game engine settings.
-    private Engine() {
-        gui.registerObserver(this);
+    // Only the game window produces key presses; other sinks get their commands from play(key).
+    private Engine(RenderSink gui) {
+        this.gui = gui;
         gui.setSize(GRID_WIDTH, GRID_HEIGHT + HEALTHBAR_HEIGHT);
-        gui.go();
+        if (gui instanceof ImageMatrixGUI) {
+            // The window shows a GRID_WIDTH x GRID_HEIGHT view of larger rooms, with the status bar fixed below it.
+            ((ImageMatrixGUI) gui).setFixedRows(HEALTHBAR_HEIGHT);
+            ((ImageMatrixGUI) gui).setViewportSize(GRID_WIDTH, GRID_HEIGHT + HEALTHBAR_HEIGHT);
+            ((ImageMatrixGUI) gui).registerObserver(this);
+            ((ImageMatrixGUI) gui).go();
+            events.start(System.out::println);
+        }
+    }
+
+    // Retrieves the sink where the game is drawn.
+    public RenderSink getGui() {
+        return gui;
+    }
+
+    // Sets the number of cells of the level shown in the game window, which scrolls to follow the hero.
+    // The window is at least GRID_WIDTH cells wide, so the whole status bar is shown.
+    public void setViewSize(int width, int height) {
+        if (gui instanceof ImageMatrixGUI) {
+            ((ImageMatrixGUI) gui).setViewportSize(Math.max(width, GRID_WIDTH), height + HEALTHBAR_HEIGHT);
+        }
+    }
+
+    // Makes the game window draw itself on its own thread at the given number of frames per second,
+    // instead of when Swing repaints it.
+    public void setFrameRate(int framesPerSecond) {
+        if (gui instanceof ImageMatrixGUI) {
+            ((ImageMatrixGUI) gui).setActiveRendering(framesPerSecond);
+        }
+    }
+
+    // Checks if the game runs without the game window.
+    public boolean isHeadless() {
+        return !(gui instanceof ImageMatrixGUI);
+    }
+
+    // Retrieves the inventory display of this game.
+    public Inventory getInventory() {
+        if (inventory == null) {
+            inventory = new Inventory(this);
+        }
+        return inventory;
+    }
+
+    // Retrieves the health bar display of this game.
+    public HealthBar getHealthBar() {
+        if (healthBar == null) {
+            healthBar = new HealthBar(this);
+        }
+        return healthBar;
     }
 
     // Provides access to the map of levels.
@@ -73,6 +180,116 @@ public class Engine implements Observer {
         return turns;
     }
 
+    // Retrieves the planner of the enemies' moves (e.g., to switch parallel planning on or off).
+    public TurnPlanner getPlanner() {
+        return planner;
+    }
+
+    // Replaces the planner of the enemies' moves (e.g., with one that plans every turn in parallel).
+    public void setPlanner(TurnPlanner planner) {
+        this.planner = planner;
+    }
+
+    // Retrieves the random number generator of the game.
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    // Replaces the random number generator with one started from the given seed (for reproducible games).
+    public void setSeed(long seed) {
+        random = new GameRandom(seed);
+    }
+
+    // Retrieves the lines of the level saved at the last save point, or null if there is none.
+    public List<String> getSavePoint() {
+        return savePoint;
+    }
+
+    // Records the lines of the level at a new save point.
+    public void setSavePoint(List<String> savePoint) {
+        this.savePoint = savePoint;
+    }
+
+    // Retrieves the log of the game's events (on in the game window, off in headless games until started).
+    public EventLog getEvents() {
+        return events;
+    }
+
+    // Retrieves the number of times the hero died.
+    public int getDeaths() {
+        return deaths;
+    }
+
+    // Counts a death of the hero.
+    void countDeath() {
+        deaths++;
+    }
+
+    // Checks if the game is over.
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // Ends the game; later commands are ignored.
+    public void finish() {
+        finished = true;
+    }
+
+    // Records every command of the game in a trace file, with a checksum of the state every interval commands.
+    // Must be called before the game starts, so the trace can be replayed from the beginning.
+    public void startRecording(Path file, int interval) throws IOException {
+        if (hero != null) {
+            throw new IllegalStateException("Recording must start before the game.");
+        }
+        recorder = new TraceRecorder(file, random, interval);
+    }
+
+    // Stops recording the game, writing the rest of the trace file.
+    public void stopRecording() {
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                System.err.println("Could not write the trace: " + e.getMessage());
+            }
+            recorder = null;
+        }
+    }
+
+    // Returns a checksum of the game state: turns, score, level, hero, elements of the level and random generator.
+    // Two games that played the same commands from the same seed have the same checksum.
+    public long checksum() {
+        long hash = mix(0, turns);
+        hash = mix(hash, score);
+        hash = mix(hash, levelID.hashCode());
+        hash = mix(hash, random.getState());
+        hash = mix(hash, hero.getPosition().hashCode());
+        hash = mix(hash, hero.getHitpoints());
+        hash = mix(hash, hero.getState().ordinal());
+        for (Item item : hero.getItems()) {
+            hash = mix(hash, item.getName().hashCode());
+        }
+
+        List<GameElement> elements = getCurrentLevel().getElements();
+        for (int i = 0; i != elements.size(); i++) {
+            GameElement element = elements.get(i);
+            hash = mix(hash, element.getName().hashCode());
+            hash = mix(hash, element.getPosition().hashCode());
+            if (element instanceof Entity) {
+                hash = mix(hash, ((Entity) element).getHitpoints());
+            } else if (element instanceof Door) {
+                hash = mix(hash, ((Door) element).isClosed() ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    // Adds a value to a checksum.
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
     // Retrieves the hero object, which represents the main player character.
     public Hero getHero() {
         return hero;
@@ -119,15 +336,37 @@ public class Engine implements Observer {
     }
 
     // Creates the levels by reading configuration files in the "rooms" directory.
+    // Each level is named after its file (e.g., "room0.txt" is level "room0").
+    // The files are read once and shared by every engine in the JVM (e.g., the sessions of a GameHost).
     private void create() {
-        File directory = new File(System.getProperty("user.dir").concat("\\rooms"));
-        if (directory.isDirectory() && directory.listFiles() != null) {
-            int index = 0;
-            for (File file : directory.listFiles()) {
-                String levelID = "room" + index++;
-                levels.put(levelID, Level.create(file.getAbsolutePath()));
+        readRooms().forEach((levelID, lines) -> levels.put(levelID, Level.create(lines)));
+    }
+
+    // Returns the lines of every room file by level ID, reading them on first use.
+    private static synchronized Map<String, List<String>> readRooms() {
+        if (ROOMS != null) {
+            return ROOMS;
+        }
+        Map<String, List<String>> rooms = new TreeMap<>();
+        File[] files = new File(System.getProperty("user.dir"), "rooms").listFiles();
+        if (files == null) {
+            System.err.println("Rooms directory not found.");
+            return rooms;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isFile() && name.endsWith(ROOM_EXTENSION)) {
+                try {
+                    String levelID = name.substring(0, name.length() - ROOM_EXTENSION.length());
+                    rooms.put(levelID, List.copyOf(Files.readAllLines(file.toPath())));
+                } catch (IOException e) {
+                    System.err.println("Could not read " + name + ": " + e.getMessage());
+                }
             }
         }
+        ROOMS = Collections.unmodifiableMap(rooms);
+        return ROOMS;
     }
 
     // Starts the game by creating levels, initializing the hero, and displaying the first level.
@@ -135,6 +374,9 @@ public class Engine implements Observer {
         create();
         setCurrentLevel(FIRST_LEVEL);
         hero = new Hero(Hero.STARTING_POSITION);
+        if (gui instanceof ImageMatrixGUI) {
+            ((ImageMatrixGUI) gui).follow(hero);
+        }
         score = STARTING_SCORE;
         lastScore = STARTING_SCORE;
         lastLevelID = FIRST_LEVEL;
@@ -144,48 +386,50 @@ public class Engine implements Observer {
         Level.save();
     }
 
+    // Moves the hero to the given position of the given level, as if through a door, and saves the game there.
+    public void enter(String levelID, Point2D position) {
+        getCurrentLevel().getElements().removeAll(hero.getItems());
+        setCurrentLevel(levelID);
+        hero.setPosition(position);
+        getCurrentLevel().getElements().addAll(hero.getItems());
+        getCurrentLevel().show();
+        Level.save();
+    }
+
     // Responds to updates triggered by the GUI observer.
     @Override
     public void update(Observed source) {
-
-        // Retrieves all enemy elements in the current level.
-        List<GameElement> opponents = getCurrentLevel().getElementsFilteredBy(element -> element instanceof Enemy);
-
         // Gets the key pressed by the user.
-        int key = ((ImageMatrixGUI) source).keyPressed();
+        play(((ImageMatrixGUI) source).keyPressed());
+    }
+
+    // Plays the command of the given key (a KeyEvent code), from the user or a CommandSource.
+    public void play(int key) {
+        if (finished) {
+            return;
+        }
+        int turn = turns;
 
         if (hero.isAlive()) {
             switch (key) {
                 case KeyEvent.VK_UP:
                     // Move hero upward and process opponent actions.
-                    hero.move(Direction.UP);
-                    opponents.forEach(element -> ((Entity) element).move());
-                    turns++;
-                    score--;
+                    play(Direction.UP);
                     break;
 
                 case KeyEvent.VK_DOWN:
                     // Move hero downward and process opponent actions.
-                    hero.move(Direction.DOWN);
-                    opponents.forEach(element -> ((Entity) element).move());
-                    turns++;
-                    score--;
+                    play(Direction.DOWN);
                     break;
 
                 case KeyEvent.VK_LEFT:
                     // Move hero to the left and process opponent actions.
-                    hero.move(Direction.LEFT);
-                    opponents.forEach(element -> ((Entity) element).move());
-                    turns++;
-                    score--;
+                    play(Direction.LEFT);
                     break;
 
                 case KeyEvent.VK_RIGHT:
                     // Move hero to the right and process opponent actions.
-                    hero.move(Direction.RIGHT);
-                    opponents.forEach(element -> ((Entity) element).move());
-                    turns++;
-                    score--;
+                    play(Direction.RIGHT);
                     break;
 
                 case KeyEvent.VK_3:
@@ -220,14 +464,20 @@ public class Engine implements Observer {
 
                 case KeyEvent.VK_I:
                     // Print items currently in the hero's inventory.
-                    hero.getItems().forEach(item -> System.out.println(item.getName() + " " + item.getPosition().toString()));
+                    hero.getItems().forEach(item -> events.listing(item.getName(), item.getPosition()));
                     break;
 
                 case KeyEvent.VK_J:
-                    // Print all game elements in the current level, except walls.
-                    Predicate<GameElement> predicate = element -> !(element instanceof Wall);
-                    getCurrentLevel().getElementsFilteredBy(predicate).forEach(element ->
-                            System.out.println(element.getName() + " " + element.getPosition().toString()));
+                    // Print all game elements in the current level (walls are part of the tile map).
+                    getCurrentLevel().getElements().forEach(element -> events.listing(element.getName(), element.getPosition()));
+                    break;
+
+                case KeyEvent.VK_L:
+                    // Log the time from key press to processed turn, the paint times and the time spent waiting for the
+                    // scene lock, measured by the game window.
+                    if (gui instanceof ImageMatrixGUI) {
+                        events.report("Window", new WindowReport((ImageMatrixGUI) gui));
+                    }
                     break;
 
                 default:
@@ -237,7 +487,34 @@ public class Engine implements Observer {
 
         // Ensures the score does not drop below zero.
         score = Math.max(score, 0);
+
+        if (recorder != null) {
+            try {
+                recorder.record(turn, key, this);
+            } catch (IOException e) {
+                System.err.println("Could not write the trace: " + e.getMessage());
+                stopRecording();
+            }
+        }
         gui.setStatusMessage("ROGUE Starter Package - Turns: " + turns + " Score: " + score);
         gui.update();
     }
+
+    // Plays a turn: moves the hero in the given direction and then every enemy in the level.
+    private void play(Direction direction) {
+        // Enemies are taken before the hero moves, so the ones it kills still get their last move.
+        opponents.clear();
+        opponents.addAll(getCurrentLevel().getEnemies());
+
+        Level level = getCurrentLevel();
+        hero.move(direction);
+
+        // Plans every enemy's step first (in parallel for large levels), then applies them in order.
+        if (getCurrentLevel() == level && !hero.hasOpenedDoor()) {
+            planner.plan(opponents, level, hero.getPosition());
+        }
+        opponents.forEach(opponent -> opponent.move());
+        turns++;
+        score--;
+    }
 }
@@ -1,5 +1,6 @@
 package pt.iscte.poo.example;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 import pt.iscte.poo.utils.Direction;
@@ -12,6 +13,15 @@ public abstract class Entity extends GameElement implements Movable {
     private int hitpoints; // Current hitpoints of the entity.
     private int attack; // Attack points of the entity.
 
+    // Pursuit step planned for this turn by the TurnPlanner, valid while the turn's snapshot holds.
+    private Vector2D plannedVector;
+    private Point2D plannedPosition; // Position the planned step starts from.
+    private long plannedTurn; // Planner's turn the step was planned for.
+
+    // Buffers reused by every move, so the movement hot path does not allocate.
+    private List<GameElement> targets = new ArrayList<>(); // Elements at the target position.
+    private Predicate<GameElement> blocking = element -> element != this && element instanceof Entity; // Entities that block this one.
+
     // Constructs an Entity with the given initial position.
     public Entity(Point2D position) {
         super(position);
@@ -56,23 +66,21 @@ public abstract class Entity extends GameElement implements Movable {
         if (element instanceof Hero) {
             if (((Hero) element).hasArmor()) {
                 // Hero has armor; there's a 50% chance of receiving damage.
-                if (Math.random() < 0.5) {
+                if (engine.getRandom().chance(0.5)) {
                     ((Hero) element).damage(getAttack());
-                    System.out.println("Hero receives an attack from " + getName() + " in position " + getPosition() +
-                        ". Hero: " + ((Hero) element).getHitpoints() + " hitpoints.");
+                    engine.getEvents().attack(getName(), "Hero", getPosition(), ((Hero) element).getHitpoints());
                 }
             } else {
                 // Hero receives damage without armor.
                 ((Hero) element).damage(getAttack());
-                System.out.println("Hero receives an attack from " + getName() + " in position " + getPosition() +
-                    ". Hero: " + ((Hero) element).getHitpoints() + " hitpoints.");
+                engine.getEvents().attack(getName(), "Hero", getPosition(), ((Hero) element).getHitpoints());
             }
 
             HealthBar.getInstance().update(); // Updates the health bar.
 
             if (!((Hero) element).isAlive()) {
                 // If the hero dies, restart the level.
-                System.out.println("Hero in position " + element.getPosition() + " is dead.");
+                engine.getEvents().kill("Hero", element.getPosition());
                 Level.restart();
             }
         }
@@ -85,60 +93,85 @@ public abstract class Entity extends GameElement implements Movable {
             return;
         }
 
-        // Determines the movement vector based on the direction provided or the hero's position.
-        Vector2D vector = (direction.length == 1) ? direction[0].asVector()
-            : Vector2D.movementVector(super.getPosition(), engine.getHero().getPosition());
+        // Determines the movement vector based on the direction provided or a path to the hero.
+        Vector2D vector = (direction.length == 1) ? direction[0].asVector() : pursuitVector();
         Point2D position = super.getPosition().plus(vector);
 
         // Finds game elements at the target position.
-        Predicate<GameElement> predicate = (element -> element.getPosition().equals(position));
-        List<GameElement> listOfElements = engine.getCurrentLevel().getElementsFilteredBy(predicate);
+        List<GameElement> listOfElements = engine.getCurrentLevel().getElementsAt(position, targets);
         if (this instanceof Enemy && engine.getHero().getPosition().equals(position)) {
             listOfElements.add(engine.getHero());
         }
 
         // Handles interactions with items and other entities at the target position.
         if (isIllegalPosition(position)) {
-            listOfElements.forEach(element -> {
-                if (!(element instanceof Item)) {
-                    interactsWith(element);
+            for (int i = 0; i < listOfElements.size(); i++) {
+                if (!(listOfElements.get(i) instanceof Item)) {
+                    interactsWith(listOfElements.get(i));
                 }
-            });
-        } else if (!(listOfElements.stream().anyMatch(element -> element instanceof Enemy))) {
+            }
+        } else if (!containsEnemy(listOfElements)) {
             super.setPosition(position);
-            listOfElements.forEach(element -> {
-                interactsWith(element);
-            });
+            for (int i = 0; i < listOfElements.size(); i++) {
+                interactsWith(listOfElements.get(i));
+            }
         }
+        listOfElements.clear();
     }
 
-    // Checks if the position is illegal (e.g., out of bounds, occupied by a wall or closed door).
-    private boolean isIllegalPosition(Point2D position) {
-        if (!isWithinBounds(position)) {
-            return true;
-        }
-
-        Predicate<GameElement> predicate = element -> element instanceof Entity || element instanceof Wall ||
-            (element instanceof Door && !((Door) element).isOpen());
+    // Gives this entity the step planned for it by the TurnPlanner.
+    void setPlan(Vector2D vector, Point2D position, long turn) {
+        plannedVector = vector;
+        plannedPosition = position;
+        plannedTurn = turn;
+    }
 
-        List<GameElement> listOfElements = engine.getCurrentLevel().getElementsFilteredBy(predicate);
-        if (this instanceof Enemy) {
-            listOfElements.remove(this);
-            listOfElements.add(engine.getHero());
+    // Returns the planned step towards the hero, or a new one if there is no plan or it is out of date.
+    private Vector2D pursuitVector() {
+        Level level = engine.getCurrentLevel();
+        Point2D hero = engine.getHero().getPosition();
+        Vector2D vector = plannedVector;
+        plannedVector = null;
+        if (vector != null && super.getPosition().equals(plannedPosition)
+                && engine.getPlanner().isCurrent(plannedTurn, level, hero)) {
+            return vector;
         }
+        return pursuitVector(level.getHeroDistances(), super.getPosition(), hero);
+    }
 
-        for (GameElement element : listOfElements) {
-            if (element.getPosition().equals(position)) {
+    // Returns a step from the given position towards the hero along the shortest path around walls and closed
+    // doors. Falls back to a straight step when there is no path (e.g., the hero is behind a closed door).
+    // Only reads its arguments, so the TurnPlanner can call it from several threads.
+    static Vector2D pursuitVector(DistanceField distances, Point2D position, Point2D hero) {
+        Vector2D straight = Vector2D.movementVector(position, hero);
+        Direction preferred = straight.equals(Vector2D.ZERO) ? null : Direction.forVector(straight);
+        Direction step = distances.stepFrom(position, preferred);
+        return step != null ? step.asVector() : straight;
+    }
+
+    // Checks if any of the given elements is an enemy.
+    private static boolean containsEnemy(List<GameElement> elements) {
+        for (int i = 0; i != elements.size(); i++) {
+            if (elements.get(i) instanceof Enemy) {
                 return true;
             }
         }
-
         return false;
     }
 
-    // Checks if the given position is within the game's grid boundaries.
-    private static boolean isWithinBounds(Point2D position) {
-        return position.getX() >= 0 && position.getX() < Engine.GRID_WIDTH && position.getY() >= 0 && position.getY() < Engine.GRID_HEIGHT;
+    // Checks if the position is illegal (e.g., out of bounds, occupied by a wall or closed door).
+    private boolean isIllegalPosition(Point2D position) {
+        // A single bit test covers the bounds, walls and closed doors.
+        if (!engine.getCurrentLevel().isPassable(position)) {
+            return true;
+        }
+
+        // The hero blocks enemies; it is not part of the level's elements.
+        if (this instanceof Enemy && engine.getHero().getPosition().equals(position)) {
+            return true;
+        }
+
+        return engine.getCurrentLevel().anyElementAt(position, blocking);
     }
 
     // Factory method to create entities based on their type.
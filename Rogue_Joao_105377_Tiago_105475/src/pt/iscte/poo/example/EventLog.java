@@ -0,0 +1,170 @@
+package pt.iscte.poo.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import pt.iscte.poo.utils.Point2D;
+
+// Log of the events of a game (attacks, kills, pickups, thefts, poisonings, doors, reports).
+// The game thread writes events into a ring of preallocated slots, without formatting them, and a background
+// thread formats them and passes the messages to a sink (e.g., the console or a file). When the log is off,
+// writing an event returns at once and allocates nothing. When the ring is full, new events are dropped
+// (and counted) rather than slowing the game down. The background thread sleeps while the ring is empty and
+// is woken by the event that makes it non-empty.
+public class EventLog {
+
+    public static final int DEFAULT_CAPACITY = 1024; // Default number of slots, a power of two.
+
+    // Fields of the events, one slot per event.
+    private final int mask;
+    private final GameEvent[] types;
+    private final String[] subjects;
+    private final Object[] objects; // Formatted by the background thread.
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] values;
+
+    private final AtomicLong head = new AtomicLong(); // Next event to be written to the sink.
+    private final AtomicLong tail = new AtomicLong(); // Next free slot.
+    private volatile boolean enabled; // Whether events are being logged.
+    private volatile long dropped; // Events dropped because the ring was full (written by the game thread only).
+    private Consumer<String> sink; // Receives the messages of the events.
+    private volatile Thread writer; // Background thread that formats the events.
+
+    // Constructs a log that is off, with the given number of slots (rounded up to a power of two).
+    public EventLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        types = new GameEvent[size];
+        subjects = new String[size];
+        objects = new Object[size];
+        xs = new int[size];
+        ys = new int[size];
+        values = new int[size];
+    }
+
+    // Turns the log on, writing the messages of the events to the given sink from a background thread.
+    public synchronized void start(Consumer<String> sink) {
+        stop();
+        this.sink = sink;
+        writer = new Thread(this::write, "Event log");
+        writer.setDaemon(true);
+        enabled = true;
+        writer.start();
+    }
+
+    // Turns the log off, after writing the events already in the ring.
+    public synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        enabled = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    // Checks if events are being logged.
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns the number of events dropped because the ring was full.
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Logs an attack of the attacker on the target, which has the given hitpoints left.
+    public void attack(String attacker, String target, Point2D position, int hitpoints) {
+        add(GameEvent.ATTACK, attacker, target, position, hitpoints);
+    }
+
+    // Logs the death of the given element.
+    public void kill(String victim, Point2D position) {
+        add(GameEvent.KILL, null, victim, position, 0);
+    }
+
+    // Logs that the hero found the given item.
+    public void pickup(String item, Point2D position) {
+        add(GameEvent.PICKUP, "Hero", item, position, 0);
+    }
+
+    // Logs that the thief stole the given item from the hero, who has the given hitpoints.
+    public void steal(String thief, String item, Point2D position, int hitpoints) {
+        add(GameEvent.STEAL, thief, item, position, hitpoints);
+    }
+
+    // Logs that the given enemy poisoned the hero.
+    public void poison(String enemy, Point2D position) {
+        add(GameEvent.POISON, enemy, "Hero", position, 0);
+    }
+
+    // Logs that the hero found a closed door.
+    public void door(Point2D position) {
+        add(GameEvent.DOOR, "Hero", "Door", position, 0);
+    }
+
+    // Logs a line of a listing of elements requested by the player.
+    public void listing(String name, Point2D position) {
+        add(GameEvent.LISTING, null, name, position, 0);
+    }
+
+    // Logs a report requested by the player. The report is turned into text by the background thread, so its
+    // toString() must be safe to call from another thread.
+    public void report(String name, Object report) {
+        add(GameEvent.REPORT, name, report, null, 0);
+    }
+
+    // Writes an event into the next free slot of the ring (an event without a position is written at 0,0).
+    private void add(GameEvent type, String subject, Object object, Point2D position, int value) {
+        if (!enabled) {
+            return;
+        }
+        long index = tail.get();
+        if (index - head.get() > mask) {
+            dropped++;
+            return;
+        }
+        int slot = (int) index & mask;
+        types[slot] = type;
+        subjects[slot] = subject;
+        objects[slot] = object;
+        xs[slot] = position != null ? position.getX() : 0;
+        ys[slot] = position != null ? position.getY() : 0;
+        values[slot] = value;
+        tail.set(index + 1); // Publishes the event to the background thread.
+        if (head.get() == index) {
+            LockSupport.unpark(writer); // The ring was empty, so the background thread may be asleep.
+        }
+    }
+
+    // Formats the events and passes them to the sink until the log is turned off and the ring is empty.
+    private void write() {
+        while (true) {
+            boolean running = enabled;
+            long next = head.get();
+            long last = tail.get();
+            for (; next != last; next++) {
+                int slot = (int) next & mask;
+                String position = Point2D.of(xs[slot], ys[slot]).toString();
+                sink.accept(types[slot].format(subjects[slot], String.valueOf(objects[slot]), position, values[slot]));
+                subjects[slot] = null; // Lets the subject and object (e.g., a report) be collected.
+                objects[slot] = null;
+                head.set(next + 1);
+            }
+            if (!running) {
+                return;
+            }
+            if (tail.get() == next) {
+                LockSupport.park(this); // Woken by add() or stop().
+            }
+        }
+    }
+}
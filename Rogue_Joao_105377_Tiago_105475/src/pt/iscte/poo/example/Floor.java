@@ -1,12 +1,12 @@
 package pt.iscte.poo.example;
 
-import pt.iscte.poo.utils.Point2D;
+// Represents a Floor tile in the game that entities can walk over.
+public final class Floor extends Terrain {
 
-public class Floor extends GameElement {
+    public static final Floor INSTANCE = new Floor(); // Shared instance used by every floor cell.
 
-    // Creates a Floor object with the given position.
-    public Floor(Point2D position) {
-        super(position);
+    // Private constructor, floors are only accessed through the shared instance.
+    private Floor() {
     }
 
     @Override
@@ -16,10 +16,14 @@ public class Floor extends GameElement {
     }
 
     @Override
-    public int getLayer() {
-        // Returns the rendering layer for the floor.
-        // Layer 0 ensures the floor is rendered below all other elements.
-        return 0;
+    public byte getID() {
+        // Returns the tile ID of the floor.
+        return TileMap.FLOOR;
     }
 
+    @Override
+    public boolean isPassable() {
+        // Floors can be walked over.
+        return true;
+    }
 }
@@ -1,6 +1,7 @@
 package pt.iscte.poo.example;
 
 import pt.iscte.poo.gui.ImageTile;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.utils.Point2D;
 
 // Represents a game element with a position on the game grid.
@@ -9,6 +10,8 @@ import pt.iscte.poo.utils.Point2D;
 public abstract class GameElement implements ImageTile {
 
     private Point2D position; // Position of the game element on the grid.
+    private Level level; // Level whose element list currently holds this element (if any).
+    private RenderSink gui = Engine.getInstance().getGui(); // Told when the element moves or changes its image.
 
     // Constructs a GameElement with the given position.
     public GameElement(Point2D position) {
@@ -21,8 +24,28 @@ public abstract class GameElement implements ImageTile {
         return position;
     }
 
-    // Updates the position of the game element.
+    // Updates the position of the game element and keeps its level's index up to date.
     public void setPosition(Point2D position) {
+        Point2D previous = this.position;
         this.position = position;
+        if (level != null) {
+            level.relocate(this, previous);
+        }
+        gui.imageChanged(this);
+    }
+
+    // Tells the GUI that the image of this element changed (e.g., a door that opens).
+    protected void imageChanged() {
+        gui.imageChanged(this);
+    }
+
+    // Returns the level that currently holds this element.
+    Level getLevel() {
+        return level;
+    }
+
+    // Sets the level that currently holds this element (managed by Level).
+    void setLevel(Level level) {
+        this.level = level;
     }
 }
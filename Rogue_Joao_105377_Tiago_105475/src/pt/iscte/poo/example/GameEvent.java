@@ -0,0 +1,76 @@
+package pt.iscte.poo.example;
+
+// Types of the events written to the game's EventLog, each one with the message it is shown as.
+// Events have a subject (who acts), an object (who or what is acted upon), a position and a value.
+public enum GameEvent {
+
+    // The subject attacks the object at the position; the value is the object's hitpoints left.
+    ATTACK {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            if (object.equals("Hero")) {
+                return "Hero receives an attack from " + subject + " in position " + position + ". Hero: " + value + " hitpoints.";
+            }
+            return subject + " attacks " + object + " in position " + position + ". " + object + ": " + value + " hitpoints.";
+        }
+    },
+
+    // The object, at the position, is dead.
+    KILL {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return object + " in position " + position + " is dead.";
+        }
+    },
+
+    // The hero finds the object (an item) at the position.
+    PICKUP {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return object + " found in position " + position + ".";
+        }
+    },
+
+    // The subject steals the object (an item) from the hero; the value is the hero's hitpoints.
+    STEAL {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return subject + " steals an item (" + object + ") from Hero in position " + position + ". Hero: " + value + " hitpoints.";
+        }
+    },
+
+    // The subject poisons the hero.
+    POISON {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return "The hero is poisoned.";
+        }
+    },
+
+    // The hero finds a closed door at the position.
+    DOOR {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return "Door found in position " + position + ".";
+        }
+    },
+
+    // The object is at the position (a line of a listing requested by the player).
+    LISTING {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return object + " " + position;
+        }
+    },
+
+    // The object is a report requested by the player (e.g., the statistics of the game window); it has no position.
+    REPORT {
+        @Override
+        String format(String subject, String object, String position, int value) {
+            return object;
+        }
+    };
+
+    // Returns the message of an event of this type.
+    abstract String format(String subject, String object, String position, int value);
+}
@@ -0,0 +1,132 @@
+package pt.iscte.poo.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Runs many independent games at the same time in one JVM, one task per session on a pool of threads.
+// Sessions share nothing but immutable data, so they scale with the number of threads.
+//
+// Usage: GameHost [--sessions N] [--commands M] [--threads T] [--seed S]
+// Reports the memory used by each session and the turns per second of the host and of each session.
+public class GameHost {
+
+    private final ExecutorService pool; // Threads that run the sessions.
+
+    // Constructs a host that runs sessions on the given number of threads.
+    public GameHost(int threads) {
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Game session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Creates and starts the given number of sessions, with seeds seed, seed + 1, and so on.
+    public List<GameSession> open(int sessions, long seed, int commands) {
+        List<GameSession> list = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i != sessions; i++) {
+            GameSession session = new GameSession(seed + i, commands);
+            list.add(session);
+            tasks.add(() -> {
+                session.start();
+                return null;
+            });
+        }
+        runAll(tasks);
+        return list;
+    }
+
+    // Plays the commands of every session, each one in a single task.
+    public void run(List<GameSession> sessions) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (GameSession session : sessions) {
+            tasks.add(() -> {
+                session.run();
+                return null;
+            });
+        }
+        runAll(tasks);
+    }
+
+    // Stops the threads of the host.
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Runs the tasks on the pool and waits for all of them, reporting the first failure.
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game session failed.", e.getCause());
+        }
+    }
+
+    // Returns the memory in use after a garbage collection, in bytes (an estimate).
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i != 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Entry point for running many headless games from the command line.
+    public static void main(String[] args) {
+        int sessions = 1000;
+        int commands = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sessions":
+                    sessions = Integer.parseInt(args[++i]);
+                    break;
+                case "--commands":
+                    commands = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        GameHost host = new GameHost(threads);
+        long before = usedMemory();
+        List<GameSession> list = host.open(sessions, seed, commands);
+        long memory = usedMemory() - before;
+
+        long start = System.nanoTime();
+        host.run(list);
+        long elapsed = System.nanoTime() - start;
+        host.shutdown();
+
+        long turns = 0;
+        double sessionRate = 0;
+        for (GameSession session : list) {
+            turns += session.getEngine().getTurns();
+            sessionRate += session.getSimulation().getCommandsPerSecond();
+        }
+
+        System.out.printf("%d sessions on %d threads, %d commands each%n", sessions, threads, commands);
+        System.out.printf("memory: %.1f KB per session%n", memory / 1024.0 / sessions);
+        System.out.printf("%d turns in %.1f ms: %.0f turns/s in total, %.0f commands/s per session%n",
+                turns, elapsed / 1e6, turns * 1e9 / elapsed, sessionRate / sessions);
+    }
+}
@@ -0,0 +1,64 @@
+package pt.iscte.poo.example;
+
+import java.util.random.RandomGenerator;
+
+// Source of every random decision of a game (enemy moves, attack rolls, thefts).
+// It is a SplitMix64 generator: its whole state is one long, so a game can be seeded, saved and
+// restored exactly, and it needs no locking because each game (or simulation thread) owns its own.
+// Independent streams for other threads are made with split().
+public class GameRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L; // Increment of the state per number.
+
+    private final long seed; // Seed the generator started from.
+    private long state; // Current state of the generator.
+
+    // Constructs a generator with a seed taken from the clock.
+    public GameRandom() {
+        this(System.nanoTime() ^ System.currentTimeMillis() * GOLDEN_GAMMA);
+    }
+
+    // Constructs a generator with the given seed (the same seed always gives the same numbers).
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    // Returns the seed the generator started from.
+    public long getSeed() {
+        return seed;
+    }
+
+    // Returns the current state of the generator (e.g., to save it).
+    public long getState() {
+        return state;
+    }
+
+    // Restores a state returned by getState(), so the following numbers are repeated.
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    @Override
+    public long nextLong() {
+        // Returns the next number of the sequence.
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    // Returns true with the given probability (e.g., 0.3 for a 30% chance).
+    public boolean chance(double probability) {
+        return nextDouble() < probability;
+    }
+
+    // Returns a new generator whose numbers are independent from this one's (e.g., for another thread).
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    // Scrambles the bits of a state into a number (the SplitMix64 finalizer).
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,53 @@
+package pt.iscte.poo.example;
+
+import pt.iscte.poo.gui.HeadlessSink;
+
+// One of many games run at the same time in one JVM (see GameHost).
+// A session has its own engine, drawing to its own headless sink, so it owns its levels, hero, score,
+// inventory and random generator. Its engine is bound to the thread while the session runs, so every
+// object of the game that calls Engine.getInstance() gets this session's engine.
+public class GameSession {
+
+    private final Engine engine; // Engine of this session's game.
+    private final Simulation simulation; // Plays the session's commands and measures them.
+    private final int commands; // Number of commands the session plays.
+
+    // Constructs a session whose game and random commands are given by the seed.
+    public GameSession(long seed, int commands) {
+        this.engine = Engine.createSession(new HeadlessSink());
+        this.commands = commands;
+        engine.setSeed(seed);
+        engine.getPlanner().setParallel(false); // Sessions already run in parallel with each other.
+        this.simulation = new Simulation(engine, new RandomCommands(engine.getRandom().split(), commands));
+    }
+
+    // Creates the levels and the hero of the game, in the current thread.
+    public void start() {
+        Engine.bind(engine);
+        try {
+            engine.start();
+        } finally {
+            Engine.bind(null);
+        }
+    }
+
+    // Plays the session's commands in the current thread.
+    public void run() {
+        Engine.bind(engine);
+        try {
+            simulation.run(commands);
+        } finally {
+            Engine.bind(null);
+        }
+    }
+
+    // Returns the engine of the session.
+    public Engine getEngine() {
+        return engine;
+    }
+
+    // Returns the simulation that played the session's commands.
+    public Simulation getSimulation() {
+        return simulation;
+    }
+}
@@ -7,7 +7,6 @@ import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import pt.iscte.poo.gui.ImageMatrixGUI;
 
 public class HallOfFame {
 
@@ -28,11 +27,14 @@ public class HallOfFame {
 
     // Adds the current player's record, updates the hall of fame, and displays the records.
     public void print() {
-        String player = ImageMatrixGUI.getInstance().askUser("Player's name?");
+        String player = Engine.getInstance().getGui().askUser("Player's name?");
+        if (player == null) {
+            return; // No name given (e.g., the dialog was cancelled or there is no display).
+        }
         int score = Engine.getInstance().getScore();
         Record record = new Record(player, score);
 
-        File filename = new File(System.getProperty("user.dir").concat("\\records\\records.txt"));
+        File filename = new File(System.getProperty("user.dir"), "records" + File.separator + "records.txt");
         if (!(filename.exists() && filename.isFile())) {
             return;
         }
@@ -54,7 +56,7 @@ public class HallOfFame {
         StringBuilder message = new StringBuilder();
         message.append("Hall of Fame:\n");
         records.forEach(record -> message.append(record.player + " " + record.score + "\n"));
-        ImageMatrixGUI.getInstance().setMessage(message.toString());
+        Engine.getInstance().getGui().setMessage(message.toString());
     }
 
     // Reads the records from a file and returns a list of Record objects.
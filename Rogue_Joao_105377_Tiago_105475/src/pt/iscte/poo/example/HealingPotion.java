@@ -9,7 +9,7 @@ public class HealingPotion extends Item {
 
     // Constructs a HealingPotion object with the specified position.
     public HealingPotion(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2])));
     }
 
     @Override
@@ -2,56 +2,67 @@ package pt.iscte.poo.example;
 
 import java.util.ArrayList;
 import java.util.List;
-import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.gui.ImageTile;
 import pt.iscte.poo.utils.Point2D;
 
 public class HealthBar {
 
-    private static HealthBar INSTANCE; // Singleton instance of the HealthBar.
-    private List<ImageTile> tileList = new ArrayList<>(); // List of tiles representing the health bar.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI instance.
+    private List<ImageTile> tileList = new ArrayList<>(); // Tiles of the health bar, created once and reused.
+    private Tile[] tiles = new Tile[Engine.GRID_WIDTH / 2]; // The same tiles, by column.
+    private Engine engine; // Reference to the game engine.
+    private RenderSink gui; // Reference to the GUI instance.
 
-    // Private constructor to prevent external instantiation.
-    private HealthBar() {
+    // Constructs the health bar of the given game (see Engine.getHealthBar()).
+    HealthBar(Engine engine) {
+        this.engine = engine;
+        this.gui = engine.getGui();
+        for (int x = 0; x != tiles.length; x++) {
+            tiles[x] = new Tile(Point2D.of(x, 0), "Green");
+            tileList.add(tiles[x]);
+        }
     }
 
-    // Retrieves the singleton instance of the HealthBar.
+    // Retrieves the health bar of the current game.
     public static HealthBar getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new HealthBar();
+        return Engine.getInstance().getHealthBar();
+    }
+
+    // Adds the health bar to the GUI, in the row below the current level (see Level.show(), which clears the GUI).
+    public void show() {
+        int y = engine.getCurrentLevel().getHeight(); // The health bar is shown in the row below the grid.
+        for (Tile tile : tiles) {
+            tile.moveTo(Point2D.of(tile.position.getX(), y));
         }
-        return INSTANCE;
+        update();
+        gui.addImages(tileList);
     }
 
     // Updates the health bar based on the hero's current hitpoints.
+    // The tiles stay in the GUI, and only the ones whose color changed are recolored and reported to it.
     public void update() {
-        int hitpoints = Engine.getInstance().getHero().getHitpoints(); // Retrieves the hero's hitpoints.
-        gui.removeImages(tileList); // Removes the existing health bar tiles from the GUI.
-        tileList.clear(); // Clears the current list of tiles.
-
-        // Constructs the health bar by adding tiles representing health points.
-        for (int x = 0; x != Engine.GRID_WIDTH / 2; x++) {
-            if (isEven(hitpoints)) {
-                // Handles the case where hitpoints are even.
-                if (x < Engine.GRID_WIDTH / 2 - hitpoints / 2) {
-                    tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT), "Red")); // Adds red tiles for lost health.
-                } else {
-                    tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT), "Green")); // Adds green tiles for remaining health.
-                }
-            } else {
-                // Handles the case where hitpoints are odd.
-                if (x < Engine.GRID_WIDTH / 2 - hitpoints / 2 - 1) {
-                    tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT), "Red")); // Adds red tiles for lost health.
-                } else if (x == Engine.GRID_WIDTH / 2 - hitpoints / 2 - 1) {
-                    tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT), "RedGreen")); // Adds a mixed red-green tile for partial health.
-                } else {
-                    tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT), "Green")); // Adds green tiles for remaining health.
-                }
-            }
+        int hitpoints = engine.getHero().getHitpoints(); // Retrieves the hero's hitpoints.
+        for (int x = 0; x != tiles.length; x++) {
+            tiles[x].setColor(colorAt(x, hitpoints));
         }
+    }
 
-        gui.addImages(tileList); // Adds the updated health bar tiles to the GUI.
+    // Returns the color of the tile in the given column for the given hitpoints.
+    private static String colorAt(int x, int hitpoints) {
+        if (isEven(hitpoints)) {
+            // Handles the case where hitpoints are even.
+            if (x < Engine.GRID_WIDTH / 2 - hitpoints / 2) {
+                return "Red"; // Red tiles for lost health.
+            }
+            return "Green"; // Green tiles for remaining health.
+        }
+        // Handles the case where hitpoints are odd.
+        if (x < Engine.GRID_WIDTH / 2 - hitpoints / 2 - 1) {
+            return "Red"; // Red tiles for lost health.
+        } else if (x == Engine.GRID_WIDTH / 2 - hitpoints / 2 - 1) {
+            return "RedGreen"; // A mixed red-green tile for partial health.
+        }
+        return "Green"; // Green tiles for remaining health.
     }
 
     // Checks if a number is even.
@@ -62,8 +73,8 @@ public class HealthBar {
     // Represents a tile in the health bar.
     private class Tile implements ImageTile {
 
-        private Point2D position; // Position of the tile in the health bar.
-        private String color; // Color of the tile (Red, Green, or RedGreen).
+        private Point2D position; // Position of the tile in the health bar (its row changes with the level).
+        private String color; // Color of the tile (Red, Green, or RedGreen), changed as the hitpoints change.
 
         // Constructs a Tile object with the specified position and color.
         public Tile(Point2D position, String color) {
@@ -71,6 +82,22 @@ public class HealthBar {
             this.color = color;
         }
 
+        // Changes the color of the tile, telling the GUI if it is a different one.
+        void setColor(String color) {
+            if (!this.color.equals(color)) {
+                this.color = color;
+                gui.imageChanged(this);
+            }
+        }
+
+        // Moves the tile, telling the GUI if it is a different position.
+        void moveTo(Point2D position) {
+            if (!this.position.equals(position)) {
+                this.position = position;
+                gui.imageChanged(this);
+            }
+        }
+
         @Override
         public String getName() {
             // Returns the color of the tile.
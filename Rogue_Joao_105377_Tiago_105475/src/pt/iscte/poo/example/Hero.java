@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.utils.Direction;
 import pt.iscte.poo.utils.Point2D;
 
@@ -15,14 +15,15 @@ public class Hero extends Entity {
         NORMAL, POISONED;
     }
 
-    public static final Point2D STARTING_POSITION = new Point2D(1, 1); // Hero starting position.
+    public static final Point2D STARTING_POSITION = Point2D.of(1, 1); // Hero starting position.
     public static final int STARTING_HITPOINTS = 10; // Initial hitpoints for the hero.
     private static final int ATTACK_POINTS = 1; // Hero's base attack points.
     private static final int POISONED_POINTS = 1; // Damage taken per turn when poisoned.
 
     private Engine engine = Engine.getInstance(); // Reference to the game engine.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI.
+    private RenderSink gui = engine.getGui(); // Reference to the GUI.
     private List<Item> items = new ArrayList<>(); // List of items collected by the hero.
+    private int damageTaken; // Total hitpoints lost so far (before any healing).
     private State state; // Current state of the hero.
 
     // Variables to store the last save point.
@@ -82,6 +83,18 @@ public class Hero extends Entity {
         return state;
     }
 
+    @Override
+    public void damage(int hitpoints) {
+        // Reduces the hero's hitpoints, counting the damage taken.
+        damageTaken += Math.min(hitpoints, super.getHitpoints());
+        super.damage(hitpoints);
+    }
+
+    // Returns the total hitpoints lost so far.
+    public int getDamageTaken() {
+        return damageTaken;
+    }
+
     @Override
     public void healing(int hitpoints) {
         // Restores the hero's hitpoints up to the starting maximum.
@@ -121,16 +134,7 @@ public class Hero extends Entity {
 
     // Checks if the hero has entered an open door.
     public boolean hasOpenedDoor() {
-        Predicate<GameElement> predicate = element -> element instanceof Door && ((Door) element).isOpen();
-        List<GameElement> doors = engine.getCurrentLevel().getElementsFilteredBy(predicate);
-
-        for (GameElement door : doors) {
-            if (super.getPosition().equals(door.getPosition())) {
-                return true;
-            }
-        }
-
-        return false;
+        return engine.getCurrentLevel().anyElementAt(super.getPosition(), element -> element instanceof Door && ((Door) element).isOpen());
     }
 
     // Checks if the hero has the key to open the specified door.
@@ -174,12 +178,11 @@ public class Hero extends Entity {
         if (element instanceof Enemy) {
             // Attack the enemy.
             ((Entity) element).damage(getAttack());
-            System.out.println("Hero attacks " + element.getName() + " in position " + element.getPosition() + ". " +
-                element.getName() + ": " + ((Entity) element).getHitpoints() + " hitpoints.");
+            engine.getEvents().attack(getName(), element.getName(), element.getPosition(), ((Entity) element).getHitpoints());
 
             if (!((Entity) element).isAlive()) {
                 // Enemy is defeated.
-                System.out.println(element.getName() + " in position " + element.getPosition() + " is dead.");
+                engine.getEvents().kill(element.getName(), element.getPosition());
                 gui.removeImage(element);
                 engine.getCurrentLevel().getElements().remove(element);
                 updateScore((Enemy) element);
@@ -187,14 +190,14 @@ public class Hero extends Entity {
 
         } else if (element instanceof Item && !(element instanceof Treasure)) {
             // Interact with regular items.
-            System.out.println(element.getName() + " found in position " + element.getPosition() + ".");
+            engine.getEvents().pickup(element.getName(), element.getPosition());
             if (items.size() < Engine.INVENTORY_CAPACITY) {
                 ((Item) element).interactsWith(this);
             }
 
         } else if (element instanceof Door && ((Door) element).isClosed()) {
             // Interact with a closed door.
-            System.out.println("Door found in position " + element.getPosition() + ".");
+            engine.getEvents().door(element.getPosition());
             if (!hasKey((Door) element)) {
                 return;
             }
@@ -212,9 +215,10 @@ public class Hero extends Entity {
 
         } else if (element instanceof Treasure) {
             // Interact with a treasure item.
-            System.out.println(element.getName() + " found in position " + element.getPosition() + ".");
+            engine.getEvents().pickup(element.getName(), element.getPosition());
             if (items.size() < Engine.INVENTORY_CAPACITY) {
                 ((Item) element).interactsWith(this);
+                engine.finish();
                 gui.setMessage("Treasure found. You've won!");
                 HallOfFame.getInstance().print();
                 gui.dispose();
@@ -242,7 +246,7 @@ public class Hero extends Entity {
         Level.save();
         lastHitpoints = super.getHitpoints();
         lastState = state.equals(State.NORMAL) ? State.NORMAL : State.POISONED;
-        lastPosition = new Point2D(super.getPosition().getX(), super.getPosition().getY());
+        lastPosition = Point2D.of(super.getPosition().getX(), super.getPosition().getY());
 
         if (!engine.getLastLevelID().equals(engine.getCurrentLevelID())) {
             lastItems = Item.copy(items);
@@ -0,0 +1,53 @@
+package pt.iscte.poo.example;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import pt.iscte.poo.utils.Direction;
+import pt.iscte.poo.utils.Point2D;
+
+// A bot that hunts the enemies of the room: it walks the shortest path to the nearest enemy and attacks it,
+// drinking a healing potion when its hitpoints run low. It walks randomly when no enemy can be reached.
+public class HunterBot implements BotPolicy {
+
+    public static final int HEALING_THRESHOLD = 4; // Hitpoints at which the bot drinks a potion.
+    private static final int[] USE_KEYS = { KeyEvent.VK_E, KeyEvent.VK_W, KeyEvent.VK_Q }; // Use the 1st, 2nd and 3rd item.
+
+    private final GameRandom random; // Generator of the random walk.
+    private final List<Point2D> path = new ArrayList<>(); // Path to the enemy being checked (reused).
+
+    // Constructs a bot that walks randomly with the given generator when it has nothing to hunt.
+    public HunterBot(GameRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int nextKey(Engine engine) {
+        // Heals, attacks or walks toward the nearest enemy, or walks randomly.
+        Hero hero = engine.getHero();
+        List<Item> items = hero.getItems();
+        if (hero.getHitpoints() <= HEALING_THRESHOLD) {
+            for (int i = 0; i != items.size(); i++) {
+                if (items.get(i) instanceof HealingPotion) {
+                    return USE_KEYS[i];
+                }
+            }
+        }
+
+        Level level = engine.getCurrentLevel();
+        PathFinder finder = level.getPathFinder();
+        Point2D step = null;
+        int shortest = Integer.MAX_VALUE;
+        for (Entity enemy : level.getEnemies()) {
+            if (finder.findPath(hero.getPosition(), enemy.getPosition(), path) && path.size() < shortest) {
+                shortest = path.size();
+                step = path.get(0);
+            }
+        }
+
+        if (step == null) {
+            return BotPolicy.keyOf(Direction.random(random));
+        }
+        return BotPolicy.keyOf(hero.getPosition().directionTo(step));
+    }
+}
@@ -1,9 +1,9 @@
 package pt.iscte.poo.example;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Predicate;
-import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.gui.ImageTile;
 import pt.iscte.poo.utils.Point2D;
 
@@ -14,26 +14,29 @@ public class Inventory {
         DropFirst, DropSecond, DropThird, UseFirst, UseSecond, UseThird;
     }
 
-    private List<ImageTile> tileList = new ArrayList<>(); // List of tiles for the inventory background.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI instance.
-    private Engine engine = Engine.getInstance(); // Reference to the game engine.
-    private static Inventory INSTANCE; // Singleton instance of the Inventory.
+    private List<ImageTile> tileList = new ArrayList<>(); // Tiles of the inventory background, created once and reused.
+    private Item[] shown = new Item[Engine.INVENTORY_CAPACITY]; // Items in the GUI, by slot.
+    private Item[] carried = new Item[Engine.INVENTORY_CAPACITY]; // Items carried now, by slot (swapped with shown).
+    private RenderSink gui; // Reference to the GUI instance.
+    private Engine engine; // Reference to the game engine.
 
-    // Private constructor to prevent external instantiation.
-    private Inventory() {
+    // Constructs the inventory of the given game (see Engine.getInventory()).
+    Inventory(Engine engine) {
+        this.engine = engine;
+        this.gui = engine.getGui();
+        for (int x = Engine.GRID_WIDTH / 2; x != Engine.GRID_WIDTH; x++) {
+            tileList.add(new Tile(Point2D.of(x, 0)));
+        }
     }
 
-    // Retrieves the singleton instance of the Inventory.
+    // Retrieves the inventory of the current game.
     public static Inventory getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new Inventory();
-        }
-        return INSTANCE;
+        return Engine.getInstance().getInventory();
     }
 
     // Performs a selection action (drop or use an item) based on the input.
     public void select(Selection selection) {
-        List<Item> items = Engine.getInstance().getHero().getItems(); // Get the hero's inventory.
+        List<Item> items = engine.getHero().getItems(); // Get the hero's inventory.
         if (items.isEmpty()) {
             return; // Do nothing if the inventory is empty.
         }
@@ -89,49 +92,86 @@ public class Inventory {
         }
     }
 
+    // Adds the inventory to the GUI, in the row below the current level (see Level.show(), which clears the GUI).
+    public void show() {
+        // Items left in the inventory area by a saved level are not carried by the hero, and are removed.
+        if (engine.getHero().getItems().isEmpty()) {
+            removeLeftItems();
+        }
+
+        int y = engine.getCurrentLevel().getHeight(); // The inventory is shown in the row below the grid.
+        for (ImageTile tile : tileList) {
+            ((Tile) tile).moveTo(Point2D.of(tile.getPosition().getX(), y));
+        }
+        gui.addImages(tileList);
+
+        Arrays.fill(shown, null); // The GUI was cleared, so no item is shown.
+        update();
+    }
+
     // Updates the inventory displayed in the GUI.
+    // Only the items that were taken or left are added to or removed from the GUI, and only the ones whose slot
+    // changed are moved; the background stays as it is.
     public void update() {
-        addBackground(); // Add the inventory background.
-
-        // Remove any game elements in the inventory area from the GUI.
-        Predicate<GameElement> predicate = element -> Inventory.isWithinBounds(element);
-        List<GameElement> elements = engine.getCurrentLevel().getElementsFilteredBy(predicate);
-        elements.forEach(element -> {
-            gui.removeImage(element);
-        });
+        List<Item> items = engine.getHero().getItems(); // Get the hero's inventory.
+        int y = engine.getCurrentLevel().getHeight();
+        for (int i = 0; i != carried.length; i++) {
+            carried[i] = i < items.size() ? items.get(i) : null;
+        }
 
-        // Get the items in the hero's inventory.
-        List<Item> items = engine.getHero().getItems();
-        if (items.isEmpty()) {
-            elements.forEach(element -> {
-                engine.getCurrentLevel().getElements().remove(element);
-            });
+        // Remove the items that are no longer carried.
+        for (Item item : shown) {
+            if (item != null && !contains(carried, item)) {
+                gui.removeImage(item);
+            }
         }
 
         // Display each item in the inventory at its corresponding position.
-        for (int i = 0; i < items.size(); i++) {
-            Item item = items.get(i);
-            item.setPosition(new Point2D((Engine.GRID_WIDTH - 1) - i, Engine.GRID_HEIGHT));
-            gui.addImage(item);
+        for (int i = 0; i != carried.length; i++) {
+            Item item = carried[i];
+            if (item == null) {
+                continue;
+            }
+            Point2D slot = Point2D.of((Engine.GRID_WIDTH - 1) - i, y);
+            if (!item.getPosition().equals(slot)) {
+                item.setPosition(slot);
+            }
+            if (!contains(shown, item)) {
+                gui.addImage(item);
+            }
         }
+
+        Item[] previous = shown;
+        shown = carried;
+        carried = previous;
     }
 
-    // Adds the inventory background to the GUI.
-    private void addBackground() {
-        gui.removeImages(tileList); // Remove any existing background tiles.
-        tileList.clear(); // Clear the list of tiles.
+    // Removes the items in the inventory area from the current level.
+    private void removeLeftItems() {
+        Level level = engine.getCurrentLevel();
+        List<Item> left = new ArrayList<>();
+        level.getItems().forEach(item -> {
+            if (Inventory.isWithinBounds(item, level)) {
+                left.add(item);
+            }
+        });
+        left.forEach(item -> level.getElements().remove(item));
+    }
 
-        // Add black tiles to represent the inventory area.
-        for (int x = Engine.GRID_WIDTH / 2; x != Engine.GRID_WIDTH; x++) {
-            tileList.add(new Tile(new Point2D(x, Engine.GRID_HEIGHT)));
+    // Checks if an item is in the given slots.
+    private static boolean contains(Item[] slots, Item item) {
+        for (Item slot : slots) {
+            if (slot == item) {
+                return true;
+            }
         }
-
-        gui.addImages(tileList); // Add the new tiles to the GUI.
+        return false;
     }
 
-    // Checks if a game element is within the inventory area.
-    private static boolean isWithinBounds(GameElement element) {
-        return isBetween(element.getPosition().getX(), Engine.GRID_WIDTH / 2, Engine.GRID_WIDTH) && element.getPosition().getY() == Engine.GRID_HEIGHT;
+    // Checks if a game element is within the inventory area below the given level.
+    static boolean isWithinBounds(GameElement element, Level level) {
+        return isBetween(element.getPosition().getX(), Engine.GRID_WIDTH / 2, Engine.GRID_WIDTH)
+            && element.getPosition().getY() == level.getHeight();
     }
 
     // Checks if a value is between two bounds.
@@ -142,13 +182,21 @@ public class Inventory {
     // Represents a tile in the inventory background.
     private class Tile implements ImageTile {
 
-        private Point2D position; // Position of the tile in the inventory.
+        private Point2D position; // Position of the tile in the inventory (its row changes with the level).
 
         // Constructs a Tile at the specified position.
         public Tile(Point2D position) {
             this.position = position;
         }
 
+        // Moves the tile, telling the GUI if it is a different position.
+        void moveTo(Point2D position) {
+            if (!this.position.equals(position)) {
+                this.position = position;
+                gui.imageChanged(this);
+            }
+        }
+
         @Override
         public String getName() {
             // Returns the name of the tile (used for rendering).
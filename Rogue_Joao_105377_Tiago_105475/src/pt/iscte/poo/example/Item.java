@@ -3,13 +3,13 @@ package pt.iscte.poo.example;
 import java.util.ArrayList;
 import java.util.List;
 
-import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.utils.Point2D;
 
 public abstract class Item extends GameElement implements Collectable {
 
     private Engine engine = Engine.getInstance(); // Reference to the game engine.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI.
+    private RenderSink gui = engine.getGui(); // Reference to the GUI.
 
     // Constructs an item at a specified position.
     public Item(Point2D position) {
@@ -21,8 +21,7 @@ public abstract class Item extends GameElement implements Collectable {
         // Collects the item by adding it to the hero's inventory.
         gui.removeImage(this); // Removes the item from the GUI.
         engine.getHero().getItems().add(this); // Adds the item to the hero's inventory.
-        super.setPosition(new Point2D(Engine.GRID_WIDTH - engine.getHero().getItems().size(), Engine.GRID_HEIGHT)); // Updates position in inventory.
-        gui.addImage(this); // Adds the item to the GUI in the inventory.
+        Inventory.getInstance().update(); // Shows the item in its inventory slot.
     }
 
     @Override
@@ -9,7 +9,7 @@ public class Key extends Item {
 
     // Constructs a Key object with the specified position and key ID.
     public Key(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the position of the key.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the position of the key.
         this.keyID = info[3]; // Sets the unique key ID.
     }
 
@@ -3,33 +3,126 @@ package pt.iscte.poo.example;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
-import java.io.RandomAccessFile;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import pt.iscte.poo.gui.ImageMatrixGUI;
 import pt.iscte.poo.gui.ImageTile;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.utils.Point2D;
 
 // Represents a game level with elements like walls, floors, enemies, and items.
 public class Level {
 
     private Engine engine = Engine.getInstance(); // Reference to the game engine.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI.
-    private List<GameElement> elements = new ArrayList<>(); // List of game elements.
-    private HashMap<Point2D, GameElement> map = new HashMap<>(); // Map of walls and floors by position.
+    private RenderSink gui = engine.getGui(); // Reference to the GUI.
+    private List<GameElement> elements = new ElementList(); // List of game elements.
+    private OccupancyIndex occupancy; // Elements by grid cell.
+    private TileMap tiles; // Walls and floors by grid cell.
+    private CellMask passable; // Cells that are neither walls nor closed doors.
+    private long passabilityVersion; // Incremented every time a cell of the mask above changes.
+    private DistanceField heroDistances = new DistanceField(this); // Distances to the hero, shared by the enemies.
+    private PathFinder pathFinder = new PathFinder(this); // Point-to-point paths, with buffers shared by every query.
+
+    // Elements of the list above, partitioned by type and kept up to date as the list changes.
+    private List<Entity> enemies = new ArrayList<>();
+    private List<Door> doors = new ArrayList<>();
+    private List<Item> items = new ArrayList<>();
+    private List<Thief> thieves = new ArrayList<>();
+
+    // Read-only views of the buckets, created once so that queries do not allocate.
+    private List<Entity> enemiesView = Collections.unmodifiableList(enemies);
+    private List<Door> doorsView = Collections.unmodifiableList(doors);
+    private List<Item> itemsView = Collections.unmodifiableList(items);
+    private List<Thief> thievesView = Collections.unmodifiableList(thieves);
+
+    private static final String SIZE_HEADER = "Size"; // First field of the optional room size header.
+    private static final String SAVE_FILE = "saves" + File.separator + "save.txt"; // Save file, relative to the working directory.
+    private static final String RANDOM_STATE = "Random"; // First field of the saved state of the random number generator.
+
+    // Constructs an empty level with the given dimensions.
+    public Level(int width, int height) {
+        tiles = new TileMap(width, height);
+        occupancy = new OccupancyIndex(width, height);
+        passable = new CellMask(width, height);
+        passable.fill();
+    }
+
+    // Returns the map containing the walls and floors of the level.
+    public TileMap getTiles() {
+        return tiles;
+    }
+
+    // Returns the width of the level.
+    public int getWidth() {
+        return tiles.getWidth();
+    }
+
+    // Returns the height of the level.
+    public int getHeight() {
+        return tiles.getHeight();
+    }
+
+    // Returns the cells that are neither walls nor closed doors, for bulk queries (regions, line of sight, flood fill).
+    public CellMask getPassability() {
+        return passable;
+    }
+
+    // Returns a number that changes every time a cell becomes passable or impassable.
+    public long getPassabilityVersion() {
+        return passabilityVersion;
+    }
+
+    // Returns the distances to the hero's current position, searched at most once per hero move or door change.
+    public DistanceField getHeroDistances() {
+        heroDistances.update(engine.getHero().getPosition());
+        return heroDistances;
+    }
+
+    // Returns the path finder of the level.
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    // Checks if the given position is within the level and is neither a wall nor a closed door.
+    public boolean isPassable(Point2D position) {
+        return passable.get(position.getX(), position.getY());
+    }
 
-    // Returns the map containing wall and floor elements.
-    public HashMap<Point2D, GameElement> getMap() {
-        return map;
+    // Sets the terrain at the given cell.
+    public void setTerrain(int x, int y, Terrain terrain) {
+        tiles.set(x, y, terrain.getID());
+        refreshPassability(Point2D.of(x, y));
     }
 
-    // Sets the map containing wall and floor elements.
-    public void setMap(HashMap<Point2D, GameElement> map) {
-        this.map = map;
+    // Recomputes whether the given position is passable, after its terrain or a door on it changed.
+    void refreshPassability(Point2D position) {
+        if (isWithinBounds(position)) {
+            boolean value = tiles.getTerrain(position.getX(), position.getY()).isPassable()
+                && !anyElementAt(position, element -> element instanceof Door && ((Door) element).isClosed());
+            if (value != isPassable(position)) {
+                passable.set(position.getX(), position.getY(), value);
+                passabilityVersion++;
+            }
+        }
+    }
+
+    // Checks if the given position is a wall (positions outside the level count as walls).
+    public boolean isWall(Point2D position) {
+        return tiles.isWall(position.getX(), position.getY());
+    }
+
+    // Checks if the given position is within the level's boundaries.
+    public boolean isWithinBounds(Point2D position) {
+        return tiles.isWithinBounds(position.getX(), position.getY());
     }
 
     // Returns the list of all game elements in the level.
@@ -42,27 +135,64 @@ public class Level {
         return elements.stream().filter(predicate).collect(Collectors.toList());
     }
 
-    // Adds wall and floor elements to the GUI.
+    // Returns the enemies in the level, in the order they were added.
+    public List<Entity> getEnemies() {
+        return enemiesView;
+    }
+
+    // Returns the doors in the level.
+    public List<Door> getDoors() {
+        return doorsView;
+    }
+
+    // Returns the items in the level, including the ones shown in the inventory.
+    public List<Item> getItems() {
+        return itemsView;
+    }
+
+    // Returns the thieves in the level.
+    public List<Thief> getThieves() {
+        return thievesView;
+    }
+
+    // Returns the game elements at the given position.
+    public List<GameElement> getElementsAt(Point2D position) {
+        return occupancy.getElementsAt(position);
+    }
+
+    // Fills the given buffer with the game elements at the given position and returns it.
+    public List<GameElement> getElementsAt(Point2D position, List<GameElement> buffer) {
+        buffer.clear();
+        occupancy.collectAt(position, buffer);
+        return buffer;
+    }
+
+    // Checks if any game element at the given position matches the predicate.
+    public boolean anyElementAt(Point2D position, Predicate<GameElement> predicate) {
+        return occupancy.anyMatchAt(position, predicate);
+    }
+
+    // Updates the occupancy index after an element of this level changes position.
+    void relocate(GameElement element, Point2D previous) {
+        occupancy.move(element, previous);
+    }
+
+    // Adds wall and floor tiles to the GUI, drawn from the shared terrain in the tile map.
     private void addWallsAndFloor() {
-        List<ImageTile> tileList = new ArrayList<>();
-        map.values().forEach(element -> tileList.add(element));
-        gui.addImages(tileList);
+        gui.setBackground(tiles);
     }
 
-    // Adds the remaining game elements (excluding walls) to the GUI.
+    // Adds the remaining game elements to the GUI.
     private void addElements() {
-        List<ImageTile> tileList = new ArrayList<>();
-        elements.forEach(element -> {
-            if (!(element instanceof Wall)) {
+        // Leaves out stolen items, looked up by identity instead of searching the list for each one,
+        // and the items in the inventory area, which the inventory shows itself.
+        Set<ImageTile> stolen = Collections.newSetFromMap(new IdentityHashMap<>());
+        thieves.forEach(thief -> stolen.add(thief.getItem()));
+
+        List<ImageTile> tileList = new ArrayList<>(elements.size());
+        for (GameElement element : elements)
+            if (!stolen.contains(element) && !(element instanceof Item && Inventory.isWithinBounds(element, this)))
                 tileList.add(element);
-            }
-        });
-
-        // Removes stolen items from the GUI.
-        List<GameElement> elements = engine.getCurrentLevel().getElementsFilteredBy(element -> element instanceof Thief);
-        elements.forEach(element -> {
-            tileList.remove(((Thief) element).getItem());
-        });
 
         gui.addImages(tileList);
     }
@@ -72,183 +202,221 @@ public class Level {
         gui.addImage(engine.getHero());
     }
 
+    // Resizes the GUI to fit the level and the status bar below it.
+    private void resizeWindow() {
+        int width = Math.max(getWidth(), Engine.GRID_WIDTH);
+        int height = getHeight() + Engine.HEALTHBAR_HEIGHT;
+        if (gui.getGridDimension().width != width || gui.getGridDimension().height != height) {
+            gui.setSize(width, height);
+        }
+    }
+
     // Displays the current level in the GUI.
     public void show() {
+        resizeWindow();
         gui.clearImages();
         addWallsAndFloor();
         addElements();
         addHero();
-        HealthBar.getInstance().update();
-        Inventory.getInstance().update();
+        HealthBar.getInstance().show();
+        Inventory.getInstance().show();
     }
 
     // Creates a level by reading from the given file.
+    // The file may start with a "Size,<width>,<height>" header; otherwise the grid
+    // is made of the lines before the first empty line.
     public static Level create(String filename) {
-        HashMap<Point2D, GameElement> map = new HashMap<>();
-        Level level = new Level();
+        List<String> lines = new ArrayList<>();
         File file = new File(filename);
 
         try {
             Scanner scanner = new Scanner(file);
-            int n = 0; // Line number.
-
             while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                char[] arrayOfCharacters = line.toCharArray();
-
-                if (n < Engine.GRID_HEIGHT) {
-                    // Adds wall and floor elements for the grid.
-                    int y = n;
-                    for (int x = 0; x < Engine.GRID_WIDTH && y < Engine.GRID_HEIGHT; x++) {
-                        if (arrayOfCharacters[x] == '#') {
-                            map.put(new Point2D(x, y), new Wall(new Point2D(x, y)));
-                            level.elements.add(new Wall(new Point2D(x, y)));
-                        } else {
-                            map.put(new Point2D(x, y), new Floor(new Point2D(x, y)));
-                        }
-                    }
-                } else {
-                    // Processes other elements (e.g., items, enemies).
-                    level.setMap(map);
-                    String[] info = line.split(",");
-
-                    switch (info[0]) {
-                        case "Door":
-                            level.elements.add(Door.create(info));
-                            break;
-
-                        case "Key":
-                            level.elements.add(Item.create("Key", info));
-                            break;
-
-                        case "Sword":
-                            level.elements.add(Item.create("Sword", info));
-                            break;
-
-                        case "Armor":
-                            level.elements.add(Item.create("Armor", info));
-                            break;
-
-                        case "HealingPotion":
-                            level.elements.add(Item.create("HealingPotion", info));
-                            break;
-
-                        case "Treasure":
-                            level.elements.add(Item.create("Treasure", info));
-                            break;
-
-                        case "Skeleton":
-                            level.elements.add(Entity.create("Skeleton", info));
-                            break;
-
-                        case "Bat":
-                            level.elements.add(Entity.create("Bat", info));
-                            break;
-
-                        case "Thug":
-                            level.elements.add(Entity.create("Thug", info));
-                            break;
-
-                        case "Scorpio":
-                            level.elements.add(Entity.create("Scorpio", info));
-                            break;
-
-                        case "Thief":
-                            level.elements.add(Entity.create("Thief", info));
-                            break;
-
-                        default:
-                            break;
-                    }
-                }
-
-                n++;
+                lines.add(scanner.nextLine());
             }
             scanner.close();
 
         } catch (FileNotFoundException e) {
             System.err.println("File Not Found!");
         }
-        return level;
+
+        return create(lines);
     }
 
-    // Saves the current level to a file.
-    public static void save() {
-        File filename = new File(System.getProperty("user.dir").concat("\\saves\\save.txt"));
-        if (!(filename.exists() && filename.isFile())) {
-            return;
+    // Creates a level from the lines of a room file (or of a save point).
+    public static Level create(List<String> lines) {
+        // Reads the dimensions of the grid.
+        int first = 0; // Line number of the first grid line.
+        int width = 0;
+        int height = 0;
+        if (!lines.isEmpty() && lines.get(0).startsWith(SIZE_HEADER + ",")) {
+            String[] info = lines.get(0).split(",");
+            width = Integer.parseInt(info[1].trim());
+            height = Integer.parseInt(info[2].trim());
+            first = 1;
+        } else {
+            while (height < lines.size() && !lines.get(height).isEmpty()) {
+                width = Math.max(width, lines.get(height).length());
+                height++;
+            }
+        }
+        if (width == 0 || height == 0) {
+            width = Engine.GRID_WIDTH;
+            height = Engine.GRID_HEIGHT;
         }
 
-        Predicate<GameElement> predicate = element -> !(element instanceof Wall);
-        List<GameElement> elements = Engine.getInstance().getCurrentLevel().getElementsFilteredBy(predicate);
-        HashMap<Point2D, GameElement> map = Engine.getInstance().getCurrentLevel().getMap();
+        Level level = new Level(width, height);
 
-        try {
-            PrintWriter writer = new PrintWriter(filename);
+        for (int n = first; n < lines.size(); n++) {
+            String line = lines.get(n);
 
-            // Writes the grid layout (walls and floors).
-            for (int y = 0; y < Engine.GRID_HEIGHT; y++) {
-                for (int x = 0; x < Engine.GRID_WIDTH; x++) {
-                    if (map.get(new Point2D(x, y)) instanceof Wall) {
-                        writer.print('#');
-                    } else {
-                        writer.print(' ');
+            if (n < first + height) {
+                // Adds the walls of the grid; every other cell is floor.
+                int y = n - first;
+                for (int x = 0; x < width && x < line.length(); x++) {
+                    if (line.charAt(x) == '#') {
+                        level.setTerrain(x, y, Wall.INSTANCE);
                     }
                 }
-                writer.println();
+            } else {
+                // Processes other elements (e.g., items, enemies).
+                String[] info = line.split(",");
+
+                switch (info[0]) {
+                    case "Door":
+                        level.elements.add(Door.create(info));
+                        break;
+
+                    case "Key":
+                        level.elements.add(Item.create("Key", info));
+                        break;
+
+                    case "Sword":
+                        level.elements.add(Item.create("Sword", info));
+                        break;
+
+                    case "Armor":
+                        level.elements.add(Item.create("Armor", info));
+                        break;
+
+                    case "HealingPotion":
+                        level.elements.add(Item.create("HealingPotion", info));
+                        break;
+
+                    case "Treasure":
+                        level.elements.add(Item.create("Treasure", info));
+                        break;
+
+                    case "Skeleton":
+                        level.elements.add(Entity.create("Skeleton", info));
+                        break;
+
+                    case "Bat":
+                        level.elements.add(Entity.create("Bat", info));
+                        break;
+
+                    case "Thug":
+                        level.elements.add(Entity.create("Thug", info));
+                        break;
+
+                    case "Scorpio":
+                        level.elements.add(Entity.create("Scorpio", info));
+                        break;
+
+                    case "Thief":
+                        level.elements.add(Entity.create("Thief", info));
+                        break;
+
+                    case RANDOM_STATE:
+                        // Restores the random number generator of a saved game.
+                        Engine.getInstance().getRandom().setState(Long.parseLong(info[1].trim()));
+                        break;
+
+                    default:
+                        break;
+                }
             }
+        }
 
-            writer.println();
-
-            // Writes other game elements.
-            elements.forEach(element -> {
-                if (element instanceof Enemy) {
-                    writer.println(element.getName() + "," + element.getPosition().getX() + "," + element.getPosition().getY());
-                } else if (element instanceof Item && !(element instanceof Key)) {
-                    writer.println(element.getName() + "," + element.getPosition().getX() + "," + element.getPosition().getY());
-                } else if (element instanceof Key) {
-                    writer.println(element.getName() + "," + element.getPosition().getX() + "," + element.getPosition().getY() + ","
-                            + ((Key) element).getKeyID());
-                } else if (element instanceof Door) {
-                    writer.println("Door" + "," + element.getPosition().getX() + "," + element.getPosition().getY() + ","
-                            + ((Door) element).getNextLevel() + "," + ((Door) element).getNextPosition().getX() + ","
-                            + ((Door) element).getNextPosition().getY() + (element instanceof Key ? "," + ((Door) element).getKeyID() : ""));
-                }
-            });
+        return level;
+    }
+
+    // Saves the current level as the save point of the game.
+    // In the game window, the save point is also written to the save file (if there is one).
+    public static void save() {
+        Engine engine = Engine.getInstance();
+        List<String> lines = toLines(engine.getCurrentLevel());
+        engine.setSavePoint(lines);
 
+        File filename = new File(System.getProperty("user.dir"), SAVE_FILE);
+        if (engine.isHeadless() || !filename.isFile()) {
+            return;
+        }
+
+        try {
+            PrintWriter writer = new PrintWriter(filename);
+            writer.print(String.join(System.lineSeparator(), lines)); // No empty line at the end.
             writer.close();
 
         } catch (FileNotFoundException e) {
             System.err.println("File not found.");
         }
-
-        removeLastEmptyLine(filename);
     }
 
-    // Removes the last line from a file to avoid empty lines.
-    private static void removeLastEmptyLine(File filename) {
-        try {
-            RandomAccessFile file = new RandomAccessFile(filename, "rw");
-            long length = file.length();
-            file.setLength(length - 2);
-            file.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Returns the lines of a file describing the given level, in the format read by create().
+    private static List<String> toLines(Level level) {
+        List<String> lines = new ArrayList<>();
+        TileMap tiles = level.getTiles();
+
+        // Writes the size of the grid and its layout (walls and floors).
+        lines.add(SIZE_HEADER + "," + tiles.getWidth() + "," + tiles.getHeight());
+        StringBuilder row = new StringBuilder(tiles.getWidth());
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            row.setLength(0);
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                row.append(tiles.isWall(x, y) ? '#' : ' ');
+            }
+            lines.add(row.toString());
         }
+
+        lines.add("");
+
+        // Writes other game elements.
+        level.getEnemies().forEach(enemy -> {
+            lines.add(enemy.getName() + "," + enemy.getPosition().getX() + "," + enemy.getPosition().getY());
+        });
+        level.getItems().forEach(item -> {
+            if (item instanceof Key) {
+                lines.add(item.getName() + "," + item.getPosition().getX() + "," + item.getPosition().getY() + ","
+                        + ((Key) item).getKeyID());
+            } else {
+                lines.add(item.getName() + "," + item.getPosition().getX() + "," + item.getPosition().getY());
+            }
+        });
+        level.getDoors().forEach(door -> {
+            lines.add("Door" + "," + door.getPosition().getX() + "," + door.getPosition().getY() + ","
+                    + door.getNextLevel() + "," + door.getNextPosition().getX() + ","
+                    + door.getNextPosition().getY() + (door.isClosed() ? "," + door.getKeyID() : ""));
+        });
+
+        // Writes the state of the random number generator, so a restart repeats the same rolls.
+        lines.add(RANDOM_STATE + "," + Engine.getInstance().getRandom().getState());
+
+        return lines;
     }
 
-    // Loads the saved level state from a file.
+    // Loads the current level from the last save point.
     public static void load() {
-        File file = new File(System.getProperty("user.dir").concat("\\saves\\save.txt"));
-        Level level = Engine.getInstance().getCurrentLevel();
+        Engine engine = Engine.getInstance();
+        Level level = engine.getCurrentLevel();
 
         // Remove existing elements from the GUI and level.
         List<GameElement> elements = level.getElements();
-        elements.forEach(element -> ImageMatrixGUI.getInstance().removeImage(element));
+        elements.forEach(element -> engine.getGui().removeImage(element));
         level.getElements().removeAll(elements);
 
-        if (file.isFile()) {
-            Engine.getInstance().getLevels().put(Engine.getInstance().getCurrentLevelID(), Level.create(file.getAbsolutePath()));
+        if (engine.getSavePoint() != null) {
+            engine.getLevels().put(engine.getCurrentLevelID(), Level.create(engine.getSavePoint()));
         }
     }
 
@@ -256,6 +424,7 @@ public class Level {
     public static void restart() {
         load();
         Engine engine = Engine.getInstance();
+        engine.countDeath();
         Hero hero = (Hero) engine.getHero();
         hero.setPosition(hero.getLastPosition());
         hero.setHitpoints(hero.getLastHitpoints());
@@ -265,4 +434,152 @@ public class Level {
         engine.setScore(engine.getLastScore());
         engine.getCurrentLevel().show();
     }
+
+    // Element list that keeps the occupancy index and the type buckets in sync with additions and removals.
+    // The elements are kept in a private ArrayList: every change made through this list, its iterators or its
+    // sublists goes through add(int), set, remove(int) or removeRange, which update the indexes.
+    private class ElementList extends AbstractList<GameElement> implements RandomAccess {
+
+        private final ArrayList<GameElement> list = new ArrayList<>(); // Elements, in order.
+
+        @Override
+        public GameElement get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public int indexOf(Object object) {
+            return list.indexOf(object);
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return list.contains(object);
+        }
+
+        @Override
+        public void add(int index, GameElement element) {
+            attach(element);
+            list.add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public GameElement set(int index, GameElement element) {
+            if (list.get(index) == element) {
+                return element; // Nothing changes (e.g., replaceAll with the identity).
+            }
+            attach(element);
+            GameElement previous = list.set(index, element);
+            detach(previous);
+            return previous;
+        }
+
+        @Override
+        public GameElement remove(int index) {
+            GameElement element = list.remove(index);
+            modCount++;
+            detach(element);
+            return element;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            List<GameElement> range = list.subList(fromIndex, toIndex);
+            range.forEach(element -> detach(element));
+            range.clear();
+            modCount++;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection) {
+            return removeIf(element -> collection.contains(element));
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> collection) {
+            return removeIf(element -> !collection.contains(element));
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super GameElement> filter) {
+            boolean removed = list.removeIf(element -> {
+                if (filter.test(element)) {
+                    detach(element);
+                    return true;
+                }
+                return false;
+            });
+            if (removed) {
+                modCount++;
+            }
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            removeRange(0, list.size());
+        }
+
+        @Override
+        public void sort(Comparator<? super GameElement> comparator) {
+            list.sort(comparator); // Reorders the elements without changing which ones are in the level.
+            modCount++;
+        }
+
+        // Registers an element in this level and indexes its position and type.
+        private void attach(GameElement element) {
+            element.setLevel(Level.this);
+            occupancy.add(element);
+            if (element instanceof Enemy) {
+                enemies.add((Entity) element);
+            }
+            if (element instanceof Thief) {
+                thieves.add((Thief) element);
+            }
+            if (element instanceof Door) {
+                doors.add((Door) element);
+                refreshPassability(element.getPosition());
+            }
+            if (element instanceof Item) {
+                items.add((Item) element);
+            }
+        }
+
+        // Unregisters an element from this level and removes it from the indexes.
+        private void detach(GameElement element) {
+            occupancy.remove(element);
+            if (element instanceof Enemy) {
+                removeFrom(enemies, element);
+            }
+            if (element instanceof Thief) {
+                removeFrom(thieves, element);
+            }
+            if (element instanceof Door) {
+                removeFrom(doors, element);
+                refreshPassability(element.getPosition());
+            }
+            if (element instanceof Item) {
+                removeFrom(items, element);
+            }
+            if (element.getLevel() == Level.this) {
+                element.setLevel(null);
+            }
+        }
+
+        // Removes an element (by identity) from one of the type buckets.
+        private void removeFrom(List<? extends GameElement> bucket, GameElement element) {
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                if (bucket.get(i) == element) {
+                    bucket.remove(i);
+                    return;
+                }
+            }
+        }
+    }
 }
@@ -1,10 +1,51 @@
 package pt.iscte.poo.example;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 // Entry point for the application that initializes and starts the game engine.
 public class Main {
 
     public static void main(String[] args) {
-        // Starts the game engine.
-        Engine.getInstance().start();
+        // Starts the game engine, with a fixed random seed if one is given (e.g., "--seed 42"),
+        // recording the game in a trace file if one is given (e.g., "--record game.trace")
+        // showing a view of the given number of cells of each room if one is given (e.g., "--view 20x15")
+        // and drawing the window at a fixed frame rate if one is given (e.g., "--fps 60").
+        Engine engine = Engine.getInstance();
+        String trace = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--seed")) {
+                try {
+                    engine.setSeed(Long.parseLong(args[i + 1]));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid seed: " + args[i + 1]);
+                }
+            } else if (args[i].equals("--record")) {
+                trace = args[i + 1];
+            } else if (args[i].equals("--view")) {
+                String[] size = args[i + 1].split("x");
+                try {
+                    engine.setViewSize(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    System.err.println("Invalid view size: " + args[i + 1]);
+                }
+            } else if (args[i].equals("--fps")) {
+                try {
+                    engine.setFrameRate(Integer.parseInt(args[i + 1]));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Invalid frame rate: " + args[i + 1]);
+                }
+            }
+        }
+
+        if (trace != null) {
+            try {
+                engine.startRecording(Path.of(trace), TraceRecorder.DEFAULT_INTERVAL);
+                Runtime.getRuntime().addShutdownHook(new Thread(engine::stopRecording)); // The window exits the JVM.
+            } catch (IOException e) {
+                System.err.println("Could not create the trace: " + e.getMessage());
+            }
+        }
+        engine.start();
     }
 }
@@ -0,0 +1,152 @@
+package pt.iscte.poo.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import pt.iscte.poo.utils.Point2D;
+
+// Indexes the game elements of a level by the grid cell they occupy.
+// Elements outside the grid (e.g., items shown in the inventory row) are not indexed.
+// Like the TileMap, cells are grouped in chunks that are allocated when an element first enters them.
+public class OccupancyIndex {
+
+    private final int width; // Width of the indexed grid.
+    private final int height; // Height of the indexed grid.
+    private final int chunksPerRow; // Number of chunks in each row of chunks.
+    private final Cell[][] chunks; // Cells by chunk, null for chunks never entered.
+
+    // Constructs an empty index for a grid with the given dimensions.
+    public OccupancyIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+        chunksPerRow = TileMap.chunksFor(width);
+        chunks = new Cell[chunksPerRow * TileMap.chunksFor(height)][];
+    }
+
+    // Adds an element to the cell at its current position.
+    public void add(GameElement element) {
+        add(element, element.getPosition());
+    }
+
+    // Removes an element from the cell at its current position.
+    public void remove(GameElement element) {
+        remove(element, element.getPosition());
+    }
+
+    // Moves an element from the cell at the previous position to the cell at its current position.
+    public void move(GameElement element, Point2D previous) {
+        remove(element, previous);
+        add(element, element.getPosition());
+    }
+
+    // Removes every element from the index.
+    public void clear() {
+        for (Cell[] chunk : chunks) {
+            if (chunk != null) {
+                for (Cell cell : chunk) {
+                    if (cell != null) {
+                        cell.clear();
+                    }
+                }
+            }
+        }
+    }
+
+    // Returns a copy of the elements at the given position.
+    public List<GameElement> getElementsAt(Point2D position) {
+        List<GameElement> cell = cellAt(position);
+        return cell == null ? new ArrayList<>() : new ArrayList<>(cell);
+    }
+
+    // Appends the elements at the given position to the given list.
+    public void collectAt(Point2D position, List<GameElement> buffer) {
+        List<GameElement> cell = cellAt(position);
+        if (cell != null) {
+            for (int i = 0; i != cell.size(); i++) {
+                buffer.add(cell.get(i)); // addAll would copy the cell into a temporary array.
+            }
+        }
+    }
+
+    // Checks if any element at the given position matches the predicate.
+    public boolean anyMatchAt(Point2D position, Predicate<GameElement> predicate) {
+        List<GameElement> cell = cellAt(position);
+        if (cell == null) {
+            return false;
+        }
+        for (int i = 0; i != cell.size(); i++) {
+            if (predicate.test(cell.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Adds an element to the cell at the given position, if it lies within the grid.
+    private void add(GameElement element, Point2D position) {
+        if (!isWithinBounds(position)) {
+            return;
+        }
+        int x = position.getX();
+        int y = position.getY();
+        Cell[] chunk = chunks[chunkOf(x, y)];
+        if (chunk == null) {
+            chunk = new Cell[TileMap.CHUNK_SIZE * TileMap.CHUNK_SIZE];
+            chunks[chunkOf(x, y)] = chunk;
+        }
+        Cell cell = chunk[offsetOf(x, y)];
+        if (cell == null) {
+            cell = new Cell();
+            chunk[offsetOf(x, y)] = cell;
+        }
+        cell.add(element);
+    }
+
+    // Removes an element (by identity) from the cell at the given position.
+    private void remove(GameElement element, Point2D position) {
+        List<GameElement> cell = cellAt(position);
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i != cell.size(); i++) {
+            if (cell.get(i) == element) {
+                cell.remove(i);
+                return;
+            }
+        }
+    }
+
+    // Returns the cell at the given position, or null if it is empty or outside the grid.
+    private List<GameElement> cellAt(Point2D position) {
+        if (!isWithinBounds(position)) {
+            return null;
+        }
+        Cell[] chunk = chunks[chunkOf(position.getX(), position.getY())];
+        return chunk == null ? null : chunk[offsetOf(position.getX(), position.getY())];
+    }
+
+    // Returns the index of the chunk containing the given cell.
+    private int chunkOf(int x, int y) {
+        return (y >> TileMap.CHUNK_BITS) * chunksPerRow + (x >> TileMap.CHUNK_BITS);
+    }
+
+    // Returns the offset of the given cell within its chunk.
+    private static int offsetOf(int x, int y) {
+        return ((y & (TileMap.CHUNK_SIZE - 1)) << TileMap.CHUNK_BITS) | (x & (TileMap.CHUNK_SIZE - 1));
+    }
+
+    // Checks if the given position is within the indexed grid.
+    private boolean isWithinBounds(Point2D position) {
+        return position != null && position.getX() >= 0 && position.getX() < width && position.getY() >= 0 && position.getY() < height;
+    }
+
+    // The elements in a single cell.
+    @SuppressWarnings("serial")
+    private static class Cell extends ArrayList<GameElement> {
+
+        // Constructs an empty cell with room for a couple of elements.
+        Cell() {
+            super(2);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package pt.iscte.poo.example;
+
+import java.util.Arrays;
+import java.util.List;
+import pt.iscte.poo.utils.Point2D;
+
+// Finds shortest paths between two cells of a level with the A* algorithm.
+// The search buffers are allocated once per level and reused by every query: cells are marked with
+// the number of the query that last touched them, so nothing has to be cleared between queries.
+public class PathFinder {
+
+    public static final int DEFAULT_BUDGET = 10000; // Default maximum number of cells expanded per query.
+
+    private final Level level; // Level whose passable cells are searched.
+    private int[] stamps; // Query that last touched each cell: 2 * query when opened, 2 * query + 1 when closed.
+    private int[] costs; // Steps from the start to each cell, valid only for cells touched by the current query.
+    private int[] parents; // Previous cell on the best path found to each cell.
+    private long[] heap = new long[64]; // Open cells as (estimated total cost << 32 | cell), a binary min-heap.
+    private int heapSize; // Number of entries in the heap.
+    private int query; // Number of the current query.
+
+    // Statistics of the last query and of all queries so far.
+    private int lastExpanded;
+    private long lastNanos;
+    private long totalExpanded;
+    private long totalNanos;
+    private int queries;
+
+    // Constructs a path finder for the given level (buffers are allocated by the first query).
+    public PathFinder(Level level) {
+        this.level = level;
+    }
+
+    // Finds a path with cardinal moves and the default budget.
+    public boolean findPath(Point2D start, Point2D goal, List<Point2D> path) {
+        return findPath(start, goal, false, DEFAULT_BUDGET, path);
+    }
+
+    // Finds a shortest path from start to goal over passable cells and writes it into the given list
+    // (without the start, ending with the goal). The goal itself does not have to be passable.
+    // With diagonal moves, the 8 cells of Point2D.getWideNeighbourhoodPoints() are neighbours,
+    // but a diagonal step may not cut the corner of an impassable cell.
+    // Returns false, leaving the list empty, if there is no path or the budget of expanded cells runs out.
+    public boolean findPath(Point2D start, Point2D goal, boolean diagonal, int budget, List<Point2D> path) {
+        long begin = System.nanoTime();
+        path.clear();
+        lastExpanded = 0;
+        boolean found = search(start, goal, diagonal, budget);
+        if (found) {
+            int width = level.getWidth();
+            int first = start.getY() * width + start.getX();
+            for (int cell = goal.getY() * width + goal.getX(); cell != first; cell = parents[cell]) {
+                path.add(Point2D.of(cell % width, cell / width));
+            }
+            reverse(path);
+        }
+
+        lastNanos = System.nanoTime() - begin;
+        totalExpanded += lastExpanded;
+        totalNanos += lastNanos;
+        queries++;
+        return found;
+    }
+
+    // Returns the number of cells expanded by the last query.
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+
+    // Returns the time taken by the last query, in nanoseconds.
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    // Returns the number of queries so far.
+    public int getQueries() {
+        return queries;
+    }
+
+    // Returns the number of cells expanded by all queries so far.
+    public long getTotalExpanded() {
+        return totalExpanded;
+    }
+
+    // Returns the time taken by all queries so far, in nanoseconds.
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        // Returns a summary of the cost of the queries so far.
+        return "PathFinder: " + queries + " queries, " + totalExpanded + " cells expanded, "
+            + (queries == 0 ? 0 : totalNanos / queries / 1000) + " us per query";
+    }
+
+    // Runs the search, counting the expanded cells; returns true if a path was found.
+    private boolean search(Point2D start, Point2D goal, boolean diagonal, int budget) {
+        CellMask passable = level.getPassability();
+        int width = passable.getWidth();
+        if (!passable.isWithinBounds(start.getX(), start.getY()) || !passable.isWithinBounds(goal.getX(), goal.getY())) {
+            return false;
+        }
+        prepare(width * passable.getHeight());
+
+        int open = 2 * query;
+        int closed = open + 1;
+        int target = goal.getY() * width + goal.getX();
+        int first = start.getY() * width + start.getX();
+        stamps[first] = open;
+        costs[first] = 0;
+        push(estimate(start.getX(), start.getY(), goal, diagonal), first);
+
+        while (heapSize != 0) {
+            long entry = pop();
+            int cell = (int) entry;
+            if (stamps[cell] == closed) {
+                continue; // A better entry for this cell was already expanded.
+            }
+            if (cell == target) {
+                return true;
+            }
+            if (lastExpanded == budget) {
+                return false;
+            }
+            stamps[cell] = closed;
+            lastExpanded++;
+
+            int x = cell % width;
+            int y = cell / width;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if ((dx == 0 && dy == 0) || (!diagonal && dx != 0 && dy != 0)) {
+                        continue;
+                    }
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    int next = ny * width + nx;
+                    if (!passable.isWithinBounds(nx, ny) || stamps[next] == closed) {
+                        continue;
+                    }
+                    if (next != target && !passable.get(nx, ny)) {
+                        continue;
+                    }
+                    if (dx != 0 && dy != 0 && !(passable.get(nx, y) && passable.get(x, ny))) {
+                        continue; // Diagonal steps do not cut corners.
+                    }
+                    int cost = costs[cell] + 1;
+                    if (stamps[next] != open || cost < costs[next]) {
+                        stamps[next] = open;
+                        costs[next] = cost;
+                        parents[next] = cell;
+                        push(cost + estimate(nx, ny, goal, diagonal), next);
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // Starts a new query, allocating the buffers on first use.
+    private void prepare(int cells) {
+        if (stamps == null || stamps.length != cells) {
+            stamps = new int[cells];
+            costs = new int[cells];
+            parents = new int[cells];
+            query = 0;
+        }
+        query++;
+        if (query == Integer.MAX_VALUE / 2) {
+            Arrays.fill(stamps, 0); // Stamps would overflow; start counting again.
+            query = 1;
+        }
+        heapSize = 0;
+    }
+
+    // Estimates the number of steps between a cell and the goal (never more than the real number).
+    private static int estimate(int x, int y, Point2D goal, boolean diagonal) {
+        int dx = Math.abs(goal.getX() - x);
+        int dy = Math.abs(goal.getY() - y);
+        return diagonal ? Math.max(dx, dy) : dx + dy;
+    }
+
+    // Adds a cell to the heap with the given estimated total cost.
+    private void push(int cost, int cell) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) cost << 32) | cell;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    // Removes and returns the entry with the lowest estimated total cost.
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    // Reverses a list in place.
+    private static void reverse(List<Point2D> path) {
+        for (int i = 0, j = path.size() - 1; i < j; i++, j--) {
+            Point2D swap = path.get(i);
+            path.set(i, path.get(j));
+            path.set(j, swap);
+        }
+    }
+}
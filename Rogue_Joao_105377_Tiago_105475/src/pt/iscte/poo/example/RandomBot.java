@@ -0,0 +1,20 @@
+package pt.iscte.poo.example;
+
+import pt.iscte.poo.utils.Direction;
+
+// A bot that walks in random directions, fighting whatever it bumps into (a baseline for other policies).
+public class RandomBot implements BotPolicy {
+
+    private final GameRandom random; // Generator of the walk.
+
+    // Constructs a bot that walks with the given generator.
+    public RandomBot(GameRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int nextKey(Engine engine) {
+        // Returns a random move.
+        return BotPolicy.keyOf(Direction.random(random));
+    }
+}
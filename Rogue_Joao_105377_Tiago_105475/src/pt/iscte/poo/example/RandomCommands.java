@@ -0,0 +1,38 @@
+package pt.iscte.poo.example;
+
+import java.awt.event.KeyEvent;
+
+// A given number of random commands: mostly moves, with an occasional use of an item.
+// With a seeded generator the same commands are produced every time.
+public class RandomCommands implements CommandSource {
+
+    // Moves are listed several times so they are picked far more often than the other commands.
+    private static final int[] KEYS = {
+        KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT,
+        KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT,
+        KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT,
+        KeyEvent.VK_E, KeyEvent.VK_W, KeyEvent.VK_Q
+    };
+
+    private final GameRandom random; // Generator of the commands.
+    private int remaining; // Number of commands still to be produced.
+
+    // Constructs a source of the given number of commands, picked with the given generator.
+    public RandomCommands(GameRandom random, int count) {
+        this.random = random;
+        this.remaining = count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Checks if there are more commands.
+        return remaining > 0;
+    }
+
+    @Override
+    public int next() {
+        // Returns a random command.
+        remaining--;
+        return KEYS[random.nextInt(KEYS.length)];
+    }
+}
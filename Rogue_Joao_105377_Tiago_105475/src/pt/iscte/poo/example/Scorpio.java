@@ -14,7 +14,7 @@ public class Scorpio extends Entity implements Enemy {
 
     // Constructs a Scorpio with the given position from the info array.
     public Scorpio(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
         super.setHitpoints(STARTING_HITPOINTS); // Sets the starting hitpoints.
         super.setAttack(ATTACK_POINTS); // Sets the attack points.
     }
@@ -41,7 +41,7 @@ public class Scorpio extends Entity implements Enemy {
     public int getAttack() {
         // Poisons the hero when attacking and returns the Scorpio's attack points.
         engine.getHero().setState(Hero.State.POISONED); // Sets the hero's state to poisoned.
-        System.out.println("The hero is poisoned."); // Logs the poisoning action.
+        engine.getEvents().poison(getName(), getPosition()); // Logs the poisoning action.
         return super.getAttack(); // Returns the attack points.
     }
 }
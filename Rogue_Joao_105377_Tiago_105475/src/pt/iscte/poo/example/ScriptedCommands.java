@@ -0,0 +1,89 @@
+package pt.iscte.poo.example;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Commands read from a script, such as "UP UP LEFT E 1 RIGHT".
+// Arrows are written as UP, DOWN, LEFT and RIGHT; other commands are their key (Q, W, E, 1, 2, 3, I, J).
+// Commands are separated by spaces, commas or line breaks, and lines starting with '#' are comments.
+public class ScriptedCommands implements CommandSource {
+
+    private final int[] keys; // Key codes of the script, in order.
+    private final boolean repeat; // Whether the script starts over after its last command.
+    private int next; // Index of the next command.
+
+    // Constructs a source with the commands of the given script, played once or repeated forever.
+    public ScriptedCommands(String script, boolean repeat) {
+        this.keys = parse(script);
+        this.repeat = repeat && keys.length != 0;
+    }
+
+    // Constructs a source with the commands of the given script file.
+    public static ScriptedCommands fromFile(Path file, boolean repeat) throws IOException {
+        return new ScriptedCommands(Files.readString(file), repeat);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Checks if there are more commands.
+        return repeat || next < keys.length;
+    }
+
+    @Override
+    public int next() {
+        // Returns the next command, starting over at the end of a repeated script.
+        if (next == keys.length) {
+            next = 0;
+        }
+        return keys[next++];
+    }
+
+    // Returns the number of commands in the script.
+    public int size() {
+        return keys.length;
+    }
+
+    // Converts the commands of a script into key codes.
+    private static int[] parse(String script) {
+        StringBuilder words = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (!line.trim().startsWith("#")) {
+                words.append(line).append(' ');
+            }
+        }
+
+        String text = words.toString().trim();
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        String[] commands = text.split("[\\s,]+");
+        int[] keys = new int[commands.length];
+        for (int i = 0; i != commands.length; i++) {
+            keys[i] = keyOf(commands[i]);
+        }
+        return keys;
+    }
+
+    // Returns the key code of a command.
+    private static int keyOf(String command) {
+        switch (command.toUpperCase()) {
+            case "UP":
+                return KeyEvent.VK_UP;
+            case "DOWN":
+                return KeyEvent.VK_DOWN;
+            case "LEFT":
+                return KeyEvent.VK_LEFT;
+            case "RIGHT":
+                return KeyEvent.VK_RIGHT;
+            default:
+                // Letters and digits have the same key codes as their upper case characters.
+                char key = Character.toUpperCase(command.charAt(0));
+                if (command.length() == 1 && (Character.isLetter(key) || Character.isDigit(key))) {
+                    return key;
+                }
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+}
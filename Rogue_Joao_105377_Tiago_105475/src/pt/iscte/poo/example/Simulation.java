@@ -0,0 +1,141 @@
+package pt.iscte.poo.example;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Arrays;
+import pt.iscte.poo.gui.HeadlessSink;
+
+// Runs a game without the game window, playing commands from a CommandSource as fast as possible,
+// and measures how long each command takes. Used to load-test rooms and enemy AI changes.
+//
+// Usage: Simulation [--commands N] [--seed S] [--script FILE] [--record FILE] [--log FILE] [--verbose]
+// Without a script, N random commands are played. With --record, the game is saved as a trace for TraceReplay.
+// The game's events are only logged with --log (to a file) or --verbose (to the console).
+public class Simulation {
+
+    private final Engine engine; // Engine of the simulated game.
+    private final CommandSource source; // Commands to be played.
+    private long[] latencies = new long[0]; // Time taken by each command, in nanoseconds.
+    private int commands; // Number of commands played.
+    private long elapsed; // Total time of the run, in nanoseconds.
+
+    // Constructs a simulation of the given (already started) game.
+    public Simulation(Engine engine, CommandSource source) {
+        this.engine = engine;
+        this.source = source;
+    }
+
+    // Plays up to the given number of commands, stopping early if the source ends or the game is over.
+    public void run(int maxCommands) {
+        latencies = new long[maxCommands];
+        commands = 0;
+        long start = System.nanoTime();
+
+        while (commands < maxCommands && source.hasNext() && !engine.isFinished()) {
+            int key = source.next();
+            long begin = System.nanoTime();
+            engine.play(key);
+            latencies[commands++] = System.nanoTime() - begin;
+        }
+
+        elapsed = System.nanoTime() - start;
+    }
+
+    // Returns the number of commands played in the last run.
+    public int getCommands() {
+        return commands;
+    }
+
+    // Returns the number of commands played per second in the last run.
+    public double getCommandsPerSecond() {
+        return elapsed == 0 ? 0 : commands * 1e9 / elapsed;
+    }
+
+    // Returns the given percentile (0 to 100) of the command latencies of the last run, in nanoseconds.
+    public long getLatency(double percentile) {
+        if (commands == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, commands);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * commands) - 1;
+        return sorted[Math.max(0, Math.min(index, commands - 1))];
+    }
+
+    // Returns a summary of the last run.
+    public String report() {
+        double mean = commands == 0 ? 0 : Arrays.stream(latencies, 0, commands).average().getAsDouble();
+        return String.format("%d commands (%d turns) in %.1f ms: %.0f commands/s%n"
+                + "latency (us): mean %.1f, p50 %.1f, p99 %.1f, max %.1f%n"
+                + "finished: %b, level: %s, score: %d",
+                commands, engine.getTurns(), elapsed / 1e6, getCommandsPerSecond(),
+                mean / 1e3, getLatency(50) / 1e3, getLatency(99) / 1e3, getLatency(100) / 1e3,
+                engine.isFinished(), engine.getCurrentLevelID(), engine.getScore());
+    }
+
+    // Entry point for running a headless simulation from the command line.
+    public static void main(String[] args) throws IOException {
+        int maxCommands = 10000;
+        Long seed = null;
+        String script = null;
+        String trace = null;
+        String log = null;
+        boolean verbose = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--commands":
+                    maxCommands = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--script":
+                    script = args[++i];
+                    break;
+                case "--record":
+                    trace = args[++i];
+                    break;
+                case "--log":
+                    log = args[++i];
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Engine engine = Engine.createInstance(new HeadlessSink());
+        PrintWriter logWriter = log != null ? new PrintWriter(log) : null;
+        if (logWriter != null) {
+            engine.getEvents().start(logWriter::println);
+        } else if (verbose) {
+            engine.getEvents().start(System.out::println);
+        }
+        if (seed != null) {
+            engine.setSeed(seed);
+        }
+        CommandSource source = script != null
+                ? ScriptedCommands.fromFile(Path.of(script), true)
+                : new RandomCommands(engine.getRandom().split(), maxCommands);
+
+        if (trace != null) {
+            engine.startRecording(Path.of(trace), TraceRecorder.DEFAULT_INTERVAL);
+        }
+
+        engine.start();
+        Simulation simulation = new Simulation(engine, source);
+        simulation.run(maxCommands);
+        engine.stopRecording();
+        engine.getEvents().stop();
+        if (logWriter != null) {
+            logWriter.close();
+        }
+
+        System.out.println("Seed: " + engine.getRandom().getSeed());
+        System.out.println(simulation.report());
+    }
+}
@@ -20,7 +20,7 @@ public class Skeleton extends Entity implements Enemy {
 
     // Constructs a Skeleton with the specified position from the info array.
     public Skeleton(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
         super.setHitpoints(STARTING_HITPOINTS); // Sets the starting hitpoints.
         super.setAttack(ATTACK_POINTS); // Sets the attack points.
         state = State.IDLE; // Initializes the Skeleton in the IDLE state.
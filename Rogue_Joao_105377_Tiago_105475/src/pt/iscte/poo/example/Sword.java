@@ -9,7 +9,7 @@ public class Sword extends Item {
 
     // Constructs a Sword object with the specified position from the info array.
     public Sword(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position of the sword.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position of the sword.
     }
 
     @Override
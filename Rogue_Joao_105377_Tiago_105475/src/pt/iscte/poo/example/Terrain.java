@@ -0,0 +1,15 @@
+package pt.iscte.poo.example;
+
+// Represents a kind of static terrain (e.g., floor or wall).
+// There is a single shared instance per kind; its position is given by the cell of the TileMap that holds it.
+public abstract class Terrain {
+
+    // Returns the name of the image used to draw this terrain.
+    public abstract String getName();
+
+    // Returns the tile ID stored in the TileMap for this terrain.
+    public abstract byte getID();
+
+    // Checks if entities can walk over this terrain.
+    public abstract boolean isPassable();
+}
@@ -1,10 +1,11 @@
 package pt.iscte.poo.example;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Predicate;
-import pt.iscte.poo.gui.ImageMatrixGUI;
+import pt.iscte.poo.gui.RenderSink;
 import pt.iscte.poo.utils.Direction;
+import pt.iscte.poo.utils.PackedPoint;
 import pt.iscte.poo.utils.Point2D;
 
 // Represents a Thief enemy in the game that can steal items from the hero.
@@ -22,13 +23,21 @@ public class Thief extends Entity implements Enemy {
     private static final int ATTACK_POINTS = 0; // Attack points of the Thief.
 
     private Engine engine = Engine.getInstance(); // Reference to the game engine.
-    private ImageMatrixGUI gui = ImageMatrixGUI.getInstance(); // Reference to the GUI.
+    private RenderSink gui = engine.getGui(); // Reference to the GUI.
     private Item item; // Item stolen by the Thief.
     private State state; // Current state of the Thief.
+    private int[] positions = new int[4]; // Candidate positions when running away (reused every move).
+    private List<Point2D> path = new ArrayList<>(); // Path to the hideout when fleeing (kept while it stays valid).
+    private int pathStep; // Index in the path of the next step.
+    private Point2D pathFrom; // Position the next step of the path starts from.
+    private Point2D pathHideout; // Hideout the path leads to (it changes when the hero moves far enough).
+    private long pathVersion = -1; // Passability version of the level when the path was found.
+    private Predicate<GameElement> obstacle = element -> element instanceof Door ||
+        (element instanceof Enemy && element != this); // Elements the Thief does not run into.
 
     // Constructs a Thief with the specified position from the info array.
     public Thief(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
         super.setHitpoints(STARTING_HITPOINTS); // Sets the starting hitpoints.
         super.setAttack(ATTACK_POINTS); // Sets the attack points.
         item = null; // Initializes without a stolen item.
@@ -106,38 +115,74 @@ public class Thief extends Entity implements Enemy {
 
     // Moves the Thief to a position away from the hero.
     private void run() {
-        List<Point2D> positions = removeIllegalPositions(super.getPosition().getNeighbourhoodPoints());
-        Point2D position = getRandomPosition(positions);
+        int count = removeIllegalPositions(PackedPoint.neighbours(PackedPoint.of(super.getPosition()), positions));
+        Point2D position = state.equals(State.FLEEING) ? getEscapePosition(count) : getRandomPosition(count);
         super.setPosition(position); // Updates the Thief's position.
         if (hasItem()) {
             item.setPosition(position); // Updates the stolen item's position.
         }
     }
 
-    // Returns a random position from a list of valid positions.
-    private Point2D getRandomPosition(List<Point2D> positions) {
-        Random random = new Random();
-        return positions.size() != 0 ? positions.get(random.nextInt(positions.size())) : super.getPosition();
+    // Returns the next position on the way to the cell farthest from the hero, if it is one of the
+    // first count valid positions; otherwise returns a random valid position.
+    // The path is only searched again when the hideout moves, a cell of the level becomes (im)passable
+    // or the Thief leaves the path.
+    private Point2D getEscapePosition(int count) {
+        Level level = engine.getCurrentLevel();
+        Point2D hideout = level.getHeroDistances().getFarthestCell();
+        if (super.getPosition().equals(hideout)) {
+            return hideout; // Already hiding.
+        }
+        if (hideout == null) {
+            return getRandomPosition(count);
+        }
+
+        if (!hideout.equals(pathHideout) || pathVersion != level.getPassabilityVersion()
+                || !super.getPosition().equals(pathFrom)) {
+            level.getPathFinder().findPath(super.getPosition(), hideout, path); // Leaves the path empty if there is none.
+            pathStep = 0;
+            pathFrom = super.getPosition();
+            pathHideout = hideout;
+            pathVersion = level.getPassabilityVersion();
+        }
+
+        if (pathStep != path.size()) {
+            Point2D step = path.get(pathStep);
+            int next = PackedPoint.of(step);
+            for (int i = 0; i != count; i++) {
+                if (positions[i] == next) {
+                    pathStep++;
+                    pathFrom = step;
+                    return step;
+                }
+            }
+        }
+        return getRandomPosition(count);
+    }
+
+    // Returns a random position from the first count valid positions.
+    private Point2D getRandomPosition(int count) {
+        return count != 0 ? PackedPoint.toPoint(positions[engine.getRandom().nextInt(count)]) : super.getPosition();
     }
 
-    // Filters out illegal positions for the Thief to move to.
-    private List<Point2D> removeIllegalPositions(List<Point2D> positions) {
-        Predicate<GameElement> predicate = (element -> element instanceof Entity || element instanceof Wall || element instanceof Door);
-        List<GameElement> listOfElements = engine.getCurrentLevel().getElementsFilteredBy(predicate);
-        listOfElements.add(engine.getHero());
-
-        listOfElements.forEach(element -> {
-            if (element instanceof Wall || element instanceof Door) {
-                positions.remove(element.getPosition()); // Avoids walls and doors.
-            } else if (element instanceof Enemy && !element.equals(this)) {
-                positions.remove(element.getPosition()); // Avoids other enemies.
-            } else if (element instanceof Hero) {
-                positions.remove(element.getPosition()); // Avoids the hero.
-                positions.removeAll(element.getPosition().getNeighbourhoodPoints()); // Avoids adjacent positions.
+    // Filters out illegal positions for the Thief to move to, keeping the valid ones first, and returns their count.
+    private int removeIllegalPositions(int count) {
+        Level level = engine.getCurrentLevel();
+        int hero = PackedPoint.of(engine.getHero().getPosition());
+        int valid = 0;
+
+        for (int i = 0; i != count; i++) {
+            Point2D position = PackedPoint.toPoint(positions[i]);
+            if (!level.isPassable(position) || level.anyElementAt(position, obstacle)) {
+                continue; // Avoids walls, doors, other enemies and the outside of the level.
+            }
+            if (PackedPoint.distance(positions[i], hero) <= 1) {
+                continue; // Avoids the hero and adjacent positions.
             }
-        });
+            positions[valid++] = positions[i];
+        }
 
-        return positions;
+        return valid;
     }
 
     @Override
@@ -152,14 +197,12 @@ public class Thief extends Entity implements Enemy {
             gui.removeImage(item); // Removes the item from the GUI.
             Inventory.getInstance().update(); // Updates the inventory display.
             state = State.FLEEING; // Switches to the FLEEING state.
-            System.out.println(getName() + " steals an item (" + item.getName() + ") from Hero in position " + getPosition() +
-                    ". Hero: " + ((Entity) element).getHitpoints() + " hitpoints.");
+            engine.getEvents().steal(getName(), item.getName(), getPosition(), ((Entity) element).getHitpoints());
         }
     }
 
     // Selects a random item from the hero's inventory.
     private Item getRandomItem(List<Item> items) {
-        Random random = new Random();
-        return items.get(random.nextInt(items.size()));
+        return items.get(engine.getRandom().nextInt(items.size()));
     }
 }
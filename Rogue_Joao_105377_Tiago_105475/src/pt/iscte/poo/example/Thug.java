@@ -11,7 +11,7 @@ public class Thug extends Entity implements Enemy {
 
     // Constructs a Thug with the specified position from the info array.
     public Thug(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position.
         super.setHitpoints(STARTING_HITPOINTS); // Sets the starting hitpoints.
         super.setAttack(ATTACK_POINTS); // Sets the attack points.
     }
@@ -31,7 +31,7 @@ public class Thug extends Entity implements Enemy {
     @Override
     public int getAttack() {
         // Returns the attack points with a 30% chance to attack.
-        if (Math.random() < 0.3) {
+        if (Engine.getInstance().getRandom().chance(0.3)) {
             return super.getAttack(); // Performs the attack.
         }
         return 0; // No attack occurs.
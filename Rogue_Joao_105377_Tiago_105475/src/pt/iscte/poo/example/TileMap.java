@@ -0,0 +1,121 @@
+package pt.iscte.poo.example;
+
+import pt.iscte.poo.gui.TileGrid;
+
+// Stores the static terrain of a level as one byte per cell.
+// Cells are grouped in square chunks that are only allocated once a cell in them
+// stops being floor, so large rooms with open areas use little memory.
+// The byte is the ID of a shared Terrain instance, so cells need no objects of their own.
+public class TileMap implements TileGrid {
+
+    public static final int MAX_SIZE = 4096; // Maximum width and height of a room.
+    public static final int CHUNK_BITS = 5; // Chunks are 32 x 32 cells.
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    public static final byte FLOOR = 0; // Tile ID of a floor cell (the value of unallocated chunks).
+    public static final byte WALL = 1; // Tile ID of a wall cell.
+
+    private static final Terrain[] TERRAIN = { Floor.INSTANCE, Wall.INSTANCE }; // Shared terrain, indexed by tile ID.
+
+    private final int width; // Width of the map, in cells.
+    private final int height; // Height of the map, in cells.
+    private final int chunksPerRow; // Number of chunks in each row of chunks.
+    private final byte[][] chunks; // Tile IDs by chunk, null for chunks with floor only.
+
+    // Constructs a map of the given dimensions filled with floor.
+    public TileMap(int width, int height) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Illegal room size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        chunksPerRow = chunksFor(width);
+        chunks = new byte[chunksPerRow * chunksFor(height)][];
+    }
+
+    @Override
+    public int getWidth() {
+        // Returns the width of the map.
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        // Returns the height of the map.
+        return height;
+    }
+
+    // Checks if the given cell is within the map.
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    // Returns the tile ID at the given cell (cells outside the map are reported as walls).
+    public byte get(int x, int y) {
+        if (!isWithinBounds(x, y)) {
+            return WALL;
+        }
+        byte[] chunk = chunks[chunkOf(x, y)];
+        return chunk == null ? FLOOR : chunk[offsetOf(x, y)];
+    }
+
+    // Sets the tile ID at the given cell.
+    public void set(int x, int y, byte tile) {
+        if (!isWithinBounds(x, y)) {
+            throw new IllegalArgumentException("Cell outside the map: (" + x + ", " + y + ")");
+        }
+        int index = chunkOf(x, y);
+        byte[] chunk = chunks[index];
+        if (chunk == null) {
+            if (tile == FLOOR) {
+                return; // Unallocated chunks are already floor.
+            }
+            chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+            chunks[index] = chunk;
+        }
+        chunk[offsetOf(x, y)] = tile;
+    }
+
+    // Returns the shared terrain instance at the given cell.
+    public Terrain getTerrain(int x, int y) {
+        return TERRAIN[get(x, y)];
+    }
+
+    @Override
+    public String getName(int x, int y) {
+        // Returns the name of the image of the terrain at the given cell.
+        return getTerrain(x, y).getName();
+    }
+
+    // Checks if the given cell is a wall.
+    public boolean isWall(int x, int y) {
+        return get(x, y) == WALL;
+    }
+
+    // Returns the number of chunks currently allocated.
+    public int getAllocatedChunks() {
+        int count = 0;
+        for (byte[] chunk : chunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Returns the index of the chunk containing the given cell.
+    private int chunkOf(int x, int y) {
+        return (y >> CHUNK_BITS) * chunksPerRow + (x >> CHUNK_BITS);
+    }
+
+    // Returns the offset of the given cell within its chunk.
+    private static int offsetOf(int x, int y) {
+        return ((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK);
+    }
+
+    // Returns the number of chunks needed to cover the given number of cells.
+    static int chunksFor(int cells) {
+        return (cells + CHUNK_MASK) >> CHUNK_BITS;
+    }
+}
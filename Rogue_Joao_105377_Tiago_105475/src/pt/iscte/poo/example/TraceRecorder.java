@@ -0,0 +1,65 @@
+package pt.iscte.poo.example;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Records the commands of a game in a compact binary trace that TraceReplay can play back.
+// The trace starts with a header (magic number, version, random seed and state, checksum interval),
+// followed by one record per command (turn and key code, 7 bytes) and, every interval commands,
+// a record with a checksum of the game state, used by the replay to detect any difference.
+public class TraceRecorder implements Closeable {
+
+    static final int MAGIC = 0x52475452; // "RGTR"
+    static final short VERSION = 1;
+    static final byte COMMAND = 1; // Record of a command: turn (int) and key code (short).
+    static final byte CHECKSUM = 2; // Record of a checksum: number of commands so far (int) and checksum (long).
+    public static final int DEFAULT_INTERVAL = 100; // Default number of commands between checksums.
+
+    private final DataOutputStream out; // Trace file.
+    private final int interval; // Number of commands between checksums.
+    private int commands; // Number of commands recorded so far.
+
+    // Creates a trace file for a game whose generator has the given seed and state, with a checksum every
+    // interval commands.
+    public TraceRecorder(Path file, GameRandom random, int interval) throws IOException {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Illegal checksum interval: " + interval);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile())));
+        this.interval = interval;
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(random.getSeed());
+        out.writeLong(random.getState());
+        out.writeInt(interval);
+    }
+
+    // Records a command played at the given turn, followed by a checksum of the resulting state when due.
+    public void record(int turn, int key, Engine engine) throws IOException {
+        out.writeByte(COMMAND);
+        out.writeInt(turn);
+        out.writeShort(key);
+        commands++;
+        if (commands % interval == 0) {
+            out.writeByte(CHECKSUM);
+            out.writeInt(commands);
+            out.writeLong(engine.checksum());
+            out.flush(); // Keeps the trace usable if the game is killed.
+        }
+    }
+
+    // Returns the number of commands recorded so far.
+    public int getCommands() {
+        return commands;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Writes any buffered records and closes the trace file.
+        out.close();
+    }
+}
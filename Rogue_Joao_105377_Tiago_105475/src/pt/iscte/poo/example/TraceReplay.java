@@ -0,0 +1,157 @@
+package pt.iscte.poo.example;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import pt.iscte.poo.gui.HeadlessSink;
+
+// Plays back a trace written by TraceRecorder as fast as possible and checks the game state against
+// the checksums in the trace. A mismatch means the game no longer behaves as when it was recorded.
+// With --parallel, the enemies' moves of every turn are planned in parallel, however few they are, and with
+// --serial they are never planned in parallel: replaying a trace recorded the other way checks that parallel
+// planning does not change the game (see TurnPlanner).
+//
+// Usage: TraceReplay FILE [--verbose] [--parallel | --serial]
+public class TraceReplay {
+
+    private final ByteBuffer trace; // Contents of the trace file, read at once.
+    private final long seed; // Random seed of the recorded game.
+    private final long state; // State of the random generator when the recorded game started.
+    private final int interval; // Number of commands between checksums.
+    private int commands; // Number of commands played by the last run.
+    private int checksums; // Number of checksums that matched in the last run.
+    private String mismatch; // Description of the first difference found, or null.
+    private long elapsed; // Duration of the last run, in nanoseconds.
+
+    // Reads the trace in the given file.
+    public TraceReplay(Path file) throws IOException {
+        trace = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (trace.remaining() < 26 || trace.getInt() != TraceRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not a trace file: " + file);
+        }
+        short version = trace.getShort();
+        if (version != TraceRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported trace version: " + version);
+        }
+        seed = trace.getLong();
+        state = trace.getLong();
+        interval = trace.getInt();
+    }
+
+    // Returns the random seed of the recorded game.
+    public long getSeed() {
+        return seed;
+    }
+
+    // Sets the random generator of the given engine as it was when the recorded game started.
+    public void prepare(Engine engine) {
+        engine.setSeed(seed);
+        engine.getRandom().setState(state);
+    }
+
+    // Plays the trace on the given engine, started after prepare().
+    // Returns true if every recorded turn and checksum matched.
+    public boolean run(Engine engine) {
+        ByteBuffer records = trace.duplicate();
+        commands = 0;
+        checksums = 0;
+        mismatch = null;
+        long start = System.nanoTime();
+
+        try {
+            while (records.hasRemaining() && mismatch == null) {
+                byte type = records.get();
+                if (type == TraceRecorder.COMMAND) {
+                    int turn = records.getInt();
+                    int key = records.getShort() & 0xFFFF;
+                    if (turn != engine.getTurns()) {
+                        mismatch = "command " + commands + ": turn " + engine.getTurns() + ", recorded " + turn;
+                        break;
+                    }
+                    engine.play(key);
+                    commands++;
+                } else if (type == TraceRecorder.CHECKSUM) {
+                    int count = records.getInt();
+                    long checksum = records.getLong();
+                    if (count != commands || checksum != engine.checksum()) {
+                        mismatch = "checksum after command " + count + " does not match";
+                    } else {
+                        checksums++;
+                    }
+                } else {
+                    mismatch = "unknown record type " + type + " after command " + commands;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            mismatch = "trace truncated after command " + commands; // A damaged trace must not pass.
+        }
+
+        elapsed = System.nanoTime() - start;
+        return mismatch == null;
+    }
+
+    // Returns the number of commands played by the last run.
+    public int getCommands() {
+        return commands;
+    }
+
+    // Returns the description of the first difference found by the last run, or null if there was none.
+    public String getMismatch() {
+        return mismatch;
+    }
+
+    // Returns a summary of the last run.
+    public String report() {
+        double rate = elapsed == 0 ? 0 : commands * 1e9 / elapsed;
+        return String.format("%d commands in %.1f ms (%.0f commands/s), %d checksums every %d commands: %s",
+                commands, elapsed / 1e6, rate, checksums, interval, mismatch == null ? "OK" : "MISMATCH at " + mismatch);
+    }
+
+    // Entry point for replaying a trace from the command line (exits with status 1 on a mismatch).
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: TraceReplay FILE [--verbose] [--parallel | --serial]");
+            System.exit(2);
+        }
+        TraceReplay replay = new TraceReplay(Path.of(args[0]));
+        boolean verbose = false;
+        String planning = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--verbose":
+                    verbose = true;
+                    break;
+                case "--parallel":
+                case "--serial":
+                    planning = args[i];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Engine engine = Engine.createInstance(new HeadlessSink());
+        if ("--parallel".equals(planning)) {
+            // At least two threads and one task per enemy, so that plans are made concurrently even on a single core.
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            engine.setPlanner(new TurnPlanner(new ForkJoinPool(threads), 1, 1));
+        } else if ("--serial".equals(planning)) {
+            engine.getPlanner().setParallel(false);
+        }
+        if (verbose) {
+            engine.getEvents().start(System.out::println);
+        }
+        replay.prepare(engine);
+        engine.start();
+        boolean matched = replay.run(engine);
+        engine.getEvents().stop();
+
+        System.out.println(replay.report());
+        TurnPlanner planner = engine.getPlanner();
+        System.out.println(planner.getParallelTurns() + " of " + planner.getPlannedTurns() + " turns planned in parallel");
+        System.exit(matched ? 0 : 1);
+    }
+}
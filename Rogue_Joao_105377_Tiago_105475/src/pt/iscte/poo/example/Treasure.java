@@ -7,7 +7,7 @@ public class Treasure extends Item {
 
     // Constructs a Treasure with the specified position from the info array.
     public Treasure(String[] info) {
-        super(new Point2D(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position of the treasure.
+        super(Point2D.of(Integer.parseInt(info[1]), Integer.parseInt(info[2]))); // Sets the initial position of the treasure.
     }
 
     @Override
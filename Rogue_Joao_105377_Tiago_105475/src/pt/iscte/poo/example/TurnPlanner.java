@@ -0,0 +1,152 @@
+package pt.iscte.poo.example;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import pt.iscte.poo.utils.Point2D;
+import pt.iscte.poo.utils.Vector2D;
+
+// Plans the enemies' moves of a turn in two phases.
+// Planning works on a read-only snapshot of the turn, taken after the hero moved: the position of every enemy,
+// the hero's position and the level's distance field, searched beforehand. Each plan only depends on the snapshot,
+// so the plans can be made in parallel on a fork/join pool, and they are the same whichever thread makes them.
+// Committing happens when the enemies move, one at a time in the order of the level's enemy list (see
+// Entity.move): when two enemies step into the same cell, the first one takes it and the second one finds it
+// occupied and stays. Random decisions are only made while committing, in the same order, so a game with a
+// fixed seed plays the same with parallel planning as without it (TraceReplay --parallel checks this).
+public class TurnPlanner {
+
+    public static final int PARALLEL_THRESHOLD = 256; // Fewer enemies than this are planned sequentially.
+    public static final int SPLIT_SIZE = 64; // Default number of enemies planned by each fork/join task.
+
+    private final ForkJoinPool pool; // Pool that runs the parallel planning.
+    private final int threshold; // Smallest number of enemies planned in parallel.
+    private final int splitSize; // Largest number of enemies planned by one fork/join task.
+    private boolean parallel = true; // Whether large turns are planned in parallel.
+    private long plannedTurns; // Number of turns planned so far.
+    private long parallelTurns; // Number of those turns that were planned in parallel.
+
+    // Snapshot of the last planned turn, and its plans (the arrays are reused every turn).
+    private Level level;
+    private long version; // Passability version of the level when the turn was planned.
+    private Point2D hero;
+    private Point2D[] positions = new Point2D[0];
+    private Vector2D[] steps = new Vector2D[0];
+
+    // Constructs a planner that uses the common fork/join pool.
+    public TurnPlanner() {
+        this(ForkJoinPool.commonPool(), PARALLEL_THRESHOLD, SPLIT_SIZE);
+    }
+
+    // Constructs a planner that uses the given fork/join pool for turns with at least threshold enemies,
+    // splitting them into tasks of at most splitSize enemies.
+    public TurnPlanner(ForkJoinPool pool, int threshold, int splitSize) {
+        if (threshold < 1 || splitSize < 1) {
+            throw new IllegalArgumentException("Illegal threshold or split size: " + threshold + ", " + splitSize);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.splitSize = splitSize;
+    }
+
+    // Enables or disables parallel planning.
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    // Checks if parallel planning is enabled.
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // Returns the number of turns planned so far.
+    public long getPlannedTurns() {
+        return plannedTurns;
+    }
+
+    // Returns the number of turns planned in parallel so far.
+    public long getParallelTurns() {
+        return parallelTurns;
+    }
+
+    // Plans the moves of the given enemies of the level toward the hero's position, and gives each enemy its plan.
+    public void plan(List<Entity> enemies, Level level, Point2D hero) {
+        int count = enemies.size();
+        if (positions.length < count) {
+            positions = new Point2D[count];
+            steps = new Vector2D[count];
+        }
+        for (int i = 0; i != count; i++) {
+            positions[i] = enemies.get(i).getPosition();
+        }
+        DistanceField distances = level.getHeroDistances(); // Searched here, before the plans read it.
+        this.level = level;
+        this.version = level.getPassabilityVersion();
+        this.hero = hero;
+        plannedTurns++;
+
+        if (parallel && count >= threshold && pool.getParallelism() > 1) {
+            parallelTurns++;
+            pool.invoke(new PlanTask(positions, steps, 0, count, splitSize, distances, hero));
+        } else {
+            planRange(positions, steps, 0, count, distances, hero);
+        }
+
+        for (int i = 0; i != count; i++) {
+            enemies.get(i).setPlan(steps[i], positions[i], plannedTurns);
+            positions[i] = null; // Lets removed enemies be collected.
+            steps[i] = null;
+        }
+    }
+
+    // Checks if a plan made for the given turn still holds, that is, if it belongs to the last planned turn and
+    // the level, its passable cells and the hero's position are still the ones in the snapshot.
+    boolean isCurrent(long turn, Level level, Point2D hero) {
+        return turn == plannedTurns && level == this.level && level.getPassabilityVersion() == version
+                && hero.equals(this.hero);
+    }
+
+    // Plans the steps of the enemies in a range of the snapshot.
+    private static void planRange(Point2D[] positions, Vector2D[] steps, int from, int to, DistanceField distances,
+            Point2D hero) {
+        for (int i = from; i != to; i++) {
+            steps[i] = Entity.pursuitVector(distances, positions[i], hero);
+        }
+    }
+
+    // Plans the enemies in a range of the snapshot, splitting it in halves until it is small enough.
+    @SuppressWarnings("serial")
+    private static class PlanTask extends RecursiveAction {
+
+        private final Point2D[] positions; // Positions of the enemies (read only).
+        private final Vector2D[] steps; // Planned steps, one per enemy (each task writes its own range).
+        private final int from; // First enemy of the range.
+        private final int to; // End of the range (exclusive).
+        private final int splitSize; // Largest range planned without splitting it.
+        private final DistanceField distances; // Distances to the hero (read only).
+        private final Point2D hero; // Position of the hero.
+
+        // Constructs a task for the enemies from index from (inclusive) to index to (exclusive).
+        PlanTask(Point2D[] positions, Vector2D[] steps, int from, int to, int splitSize, DistanceField distances,
+                Point2D hero) {
+            this.positions = positions;
+            this.steps = steps;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+            this.distances = distances;
+            this.hero = hero;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= splitSize) {
+                planRange(positions, steps, from, to, distances, hero);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlanTask(positions, steps, from, middle, splitSize, distances, hero),
+                    new PlanTask(positions, steps, middle, to, splitSize, distances, hero));
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package pt.iscte.poo.example;
 
-import pt.iscte.poo.utils.Point2D;
+// Represents a Wall tile in the game that blocks movement.
+public final class Wall extends Terrain {
 
-// Represents a Wall element in the game that blocks movement.
-public class Wall extends GameElement {
+    public static final Wall INSTANCE = new Wall(); // Shared instance used by every wall cell.
 
-    // Constructs a Wall object at the specified position.
-    public Wall(Point2D position) {
-        super(position); // Sets the position of the wall.
+    // Private constructor, walls are only accessed through the shared instance.
+    private Wall() {
     }
 
     @Override
@@ -17,9 +16,14 @@ public class Wall extends GameElement {
     }
 
     @Override
-    public int getLayer() {
-        // Returns the rendering layer of the wall.
-        // Layer 1 ensures it is rendered above the floor but below entities.
-        return 1;
+    public byte getID() {
+        // Returns the tile ID of the wall.
+        return TileMap.WALL;
+    }
+
+    @Override
+    public boolean isPassable() {
+        // Walls block movement.
+        return false;
     }
 }
@@ -0,0 +1,36 @@
+package pt.iscte.poo.example;
+
+import pt.iscte.poo.gui.FrameStats;
+import pt.iscte.poo.gui.ImageMatrixGUI;
+
+// Statistics measured by the game window (input latency, paint times, scene lock waits), taken when the player
+// asks for them and turned into text by the EventLog's background thread.
+class WindowReport {
+
+    private final long averageInputLatency; // Nanoseconds from key press to processed turn, on average.
+    private final long maxInputLatency; // Longest time from key press to processed turn, in nanoseconds.
+    private final long processedInputs; // Keys processed by the game.
+    private final int pendingInputs; // Keys waiting to be processed.
+    private final FrameStats frames; // Paint times (thread-safe, read when the report is written).
+    private final long sceneLockWaits; // Times the game waited for the scene lock.
+    private final long sceneLockWaitTime; // Nanoseconds the game spent waiting for the scene lock.
+
+    // Takes the statistics of the given window.
+    WindowReport(ImageMatrixGUI window) {
+        averageInputLatency = window.getAverageInputLatency();
+        maxInputLatency = window.getMaxInputLatency();
+        processedInputs = window.getProcessedInputs();
+        pendingInputs = window.getPendingInputs();
+        frames = window.getFrameStats();
+        sceneLockWaits = window.getSceneLockWaits();
+        sceneLockWaitTime = window.getSceneLockWaitTime();
+    }
+
+    @Override
+    public String toString() {
+        return "Input latency: " + averageInputLatency / 1000 + " us mean, " + maxInputLatency / 1000 + " us max, "
+                + processedInputs + " keys, " + pendingInputs + " pending" + System.lineSeparator()
+                + "Frames: " + frames + System.lineSeparator()
+                + "Scene lock: " + sceneLockWaits + " waits, " + sceneLockWaitTime / 1000 + " us waiting (paint takes no lock)";
+    }
+}